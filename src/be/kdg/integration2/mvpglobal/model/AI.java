@@ -9,8 +9,13 @@
  */
 package be.kdg.integration2.mvpglobal.model;
 
-import be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts.FactsHandler;
+import be.kdg.integration2.mvpglobal.model.book.OpeningBook;
+import be.kdg.integration2.mvpglobal.model.rulebasedsystem.RuleDecision;
+import be.kdg.integration2.mvpglobal.model.rulebasedsystem.RuleNetwork;
+import be.kdg.integration2.mvpglobal.model.rulebasedsystem.RuleScorer;
+import be.kdg.integration2.mvpglobal.model.rulebasedsystem.rules.RuleStatistics;
 import be.kdg.integration2.mvpglobal.model.rulebasedsystem.rules.RulesHandler;
+import be.kdg.integration2.mvpglobal.model.search.EndgameSolver;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,41 +23,91 @@ import java.util.Random;
 
 public class AI extends Player {
     private RulesHandler rulesHandler;
+    private RuleNetwork ruleNetwork;
+    private RuleScorer ruleScorer;
+    private boolean batchScoring = true;
+    private RuleDecision lastDecision;
+    private final MoveList moveList = new MoveList();
+    private OpeningBook openingBook = OpeningBook.getDefault();
+    private EndgameSolver endgameSolver = new EndgameSolver();
 
     public void setRulesHandler(RulesHandler rulesHandler) {
         this.rulesHandler = rulesHandler;
+        this.ruleNetwork = new RuleNetwork(rulesHandler);
+        this.ruleScorer = new RuleScorer(rulesHandler);
+    }
+
+    /**
+     * Chooses between scoring all moves with the rule weights (the default) and
+     * playing the first move a rule accepts.
+     *
+     * @param batchScoring true to play the highest-scoring move, false for the first accepted move
+     */
+    public void setBatchScoring(boolean batchScoring) {
+        this.batchScoring = batchScoring;
+    }
+
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    public void setEndgameSolver(EndgameSolver endgameSolver) {
+        this.endgameSolver = endgameSolver;
     }
     public AI(String name, PieceColor color) {
         super(name, color);
     }
 
     /**
-     * Chooses a simple step move that goes upward or leftward.
+     * Chooses the move to play with the rules.
      * <p>
-     * Scans each of this AI’s pieces in row-major order, and for the first
-     * one that has a valid single-step move to a lower row or column,
-     * returns a {@code Move} from its current position to that destination.
+     * Positions found in the opening book are answered with the book move, and
+     * once only a few pieces are left outside the target camp, the
+     * {@link EndgameSolver} plays the shortest finish. Otherwise all legal moves
+     * are generated; by default every move is scored with the weights of all
+     * rules by a {@link RuleScorer} and the best one is played, else the rules
+     * are evaluated by a {@link RuleNetwork} and the first accepted move is
+     * played, with a random legal move if no rule accepts any.
      * </p>
      *
-     * @param board the current game board to scan for legal moves
-     * @return a Move that goes up or left, or {@code null} if no such move exists
+     * @param board the current game board
+     * @return the chosen move, or {@code null} if this AI has no legal move
      */
     @Override
     public Move getMove(Board board) {
+        int bookMove = openingBook.findMove(board, color);
+        if (bookMove != PackedMove.NONE) {
+            Move move = PackedMove.toMove(bookMove);
+            System.out.println("AI chose book move: " + move);
+            return move;
+        }
+        if (endgameSolver.isApplicable(board, color)) {
+            int finish = endgameSolver.solve(board, color);
+            if (finish != PackedMove.NONE) {
+                Move move = PackedMove.toMove(finish);
+                System.out.println("AI chose endgame move: " + move + " (" + endgameSolver.getSolutionLength() + " moves to finish)");
+                return move;
+            }
+        }
+
         List<Move> possibleMoves = generateAllPossibleMoves(board);
-        for (Move move : possibleMoves) {
-            FactsHandler facts = new FactsHandler(board, move, this.color);
+        if (batchScoring) {
+            int[] scores = ruleScorer.score(board, this.color, possibleMoves);
+            int best = ruleScorer.choose(scores, this.color, possibleMoves);
+            if (best < 0) return null; // No moves available
+            Move move = possibleMoves.get(best);
+            rulesHandler.notifyMoveChosen(board, move, this.color);
+            System.out.println("AI chose move by rule weights (score " + scores[best] + "): " + move);
+            return move;
+        }
 
-            // Trying rules in order until one is satisfied
-            for (int i = 0; i < rulesHandler.numberOfRules(); i++) {
-                if (rulesHandler.checkConditionRule(i, facts)) {
-                    boolean result = rulesHandler.fireActionRule(i, facts, board, move);
-                    if (result) {
-                        System.out.println("AI chose move via rule " + i + ": " + move);
-                        return move;
-                    }
-                }
-            }
+        // Trying rules in order on every move until one is satisfied
+        lastDecision = ruleNetwork.decide(board, this.color, possibleMoves);
+        if (lastDecision.getMove() != null) {
+            System.out.println("AI chose move via rule " + lastDecision.getRule() + ": " + lastDecision.getMove()
+                    + " (" + lastDecision.getTrace().size() + " firings, "
+                    + lastDecision.getConditionChecks() + " condition checks)");
+            return lastDecision.getMove();
         }
 
         // Fallback to random move
@@ -64,35 +119,42 @@ public class AI extends Player {
 
         return null; // No moves available
     }
-    private List<Move> generateAllPossibleMoves(Board board) {
-        List<Move> moves = new ArrayList<>();
-
-        for (int row = 0; row < Board.SIZE; row++) {
-            for (int col = 0; col < Board.SIZE; col++) {
-                Position from = new Position(row, col);
-                Piece piece = board.getPieceAt(from);
-                if (piece != null && piece.getColor() == color) {
-                    for (int dr = -1; dr <= 1; dr++) {
-                        for (int dc = -1; dc <= 1; dc++) {
-                            if (dr == 0 && dc == 0) continue;
-                            Position to = new Position(row + dr, col + dc);
-                            if (board.isValidPosition(to) && board.isEmpty(to)) {
-                                moves.add(new Move(from, to));
-                            }
+    /**
+     * Returns the rule decision behind the most recent move, with its firing trace.
+     *
+     * @return the last decision, or {@code null} if the rules have not decided a move yet
+     */
+    public RuleDecision getLastDecision() {
+        return lastDecision;
+    }
 
-                            // Also consider jump moves
-                            Position jump = new Position(row + 2 * dr, col + 2 * dc);
-                            Position mid = new Position(row + dr, col + dc);
-                            if (board.isValidPosition(jump) && board.isEmpty(jump)
-                                    && board.getPieceAt(mid) != null) {
-                                moves.add(new Move(from, jump));
-                            }
-                        }
-                    }
-                }
-            }
+    /**
+     * Prints the statistics of every rule to the console, e.g. at the end of a game.
+     */
+    public void printRuleStatistics() {
+        if (rulesHandler == null) return;
+        System.out.println("Rule statistics of " + name + ":");
+        for (RuleStatistics.Snapshot statistics : rulesHandler.getStatistics()) {
+            System.out.println("  " + statistics);
         }
+    }
 
+    /**
+     * Collects every legal move of this AI's pieces, including full jump chains.
+     * <p>
+     * Moves are generated into a reusable {@link MoveList}; {@code Move} objects
+     * are only created here because the rules operate on them.
+     * </p>
+     *
+     * @param board the current game board
+     * @return all legal moves in generation order
+     */
+    private List<Move> generateAllPossibleMoves(Board board) {
+        board.generateMoves(color, moveList);
+        List<Move> moves = new ArrayList<>(moveList.size());
+        for (int i = 0; i < moveList.size(); i++) {
+            moves.add(moveList.toMove(i));
+        }
         return moves;
     }
-}
\ No newline at end of file
+}
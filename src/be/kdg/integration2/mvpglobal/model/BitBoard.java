@@ -0,0 +1,261 @@
+package be.kdg.integration2.mvpglobal.model;
+
+/**
+ * Bitboard storage for the Halma board.
+ * <p>
+ * The 16x16 board is mapped onto 256 squares numbered {@code row * 16 + col}.
+ * Occupancy of each color is kept as a 256-bit mask stored in four {@code long}
+ * words, so that queries are single bit tests and bulk operations (occupancy,
+ * empty squares, camp counts) are a handful of word-wise operations and popcounts.
+ * </p>
+ *
+ * <p>All query and update methods are allocation-free. Methods that produce a
+ * mask write it into a caller-supplied {@code long[WORDS]} array.</p>
+ */
+public final class BitBoard {
+    /** Number of squares on the board. */
+    public static final int SQUARES = Board.SIZE * Board.SIZE;
+    /** Number of 64-bit words in a 256-bit mask. */
+    public static final int WORDS = SQUARES / 64;
+
+    private final long[] black = new long[WORDS];
+    private final long[] white = new long[WORDS];
+
+    /**
+     * Creates an empty bitboard.
+     */
+    public BitBoard() {
+    }
+
+    /**
+     * Returns the square index for the given coordinate.
+     *
+     * @param row the row index (0–15)
+     * @param col the column index (0–15)
+     * @return the square index (0–255)
+     */
+    public static int square(int row, int col) {
+        return (row << 4) | col;
+    }
+
+    /**
+     * Returns the row of the given square index.
+     *
+     * @param square the square index
+     * @return the row index
+     */
+    public static int row(int square) {
+        return square >>> 4;
+    }
+
+    /**
+     * Returns the column of the given square index.
+     *
+     * @param square the square index
+     * @return the column index
+     */
+    public static int col(int square) {
+        return square & 15;
+    }
+
+    /**
+     * Tests a single bit of a 256-bit mask.
+     *
+     * @param mask   the mask to test
+     * @param square the square index
+     * @return {@code true} if the bit for {@code square} is set
+     */
+    public static boolean test(long[] mask, int square) {
+        return (mask[square >>> 6] & (1L << square)) != 0;
+    }
+
+    /**
+     * Sets a single bit of a 256-bit mask.
+     *
+     * @param mask   the mask to modify
+     * @param square the square index
+     */
+    public static void set(long[] mask, int square) {
+        mask[square >>> 6] |= 1L << square;
+    }
+
+    /**
+     * Clears a single bit of a 256-bit mask.
+     *
+     * @param mask   the mask to modify
+     * @param square the square index
+     */
+    public static void clear(long[] mask, int square) {
+        mask[square >>> 6] &= ~(1L << square);
+    }
+
+    /**
+     * Counts the set bits of a 256-bit mask.
+     *
+     * @param mask the mask to count
+     * @return the number of set bits
+     */
+    public static int popCount(long[] mask) {
+        return Long.bitCount(mask[0]) + Long.bitCount(mask[1])
+                + Long.bitCount(mask[2]) + Long.bitCount(mask[3]);
+    }
+
+    /**
+     * Counts the set bits of the intersection of two masks without materialising it.
+     *
+     * @param a the first mask
+     * @param b the second mask
+     * @return the number of bits set in both masks
+     */
+    public static int popCountAnd(long[] a, long[] b) {
+        return Long.bitCount(a[0] & b[0]) + Long.bitCount(a[1] & b[1])
+                + Long.bitCount(a[2] & b[2]) + Long.bitCount(a[3] & b[3]);
+    }
+
+    /**
+     * Returns the occupancy mask of the given color. The returned array is the
+     * live internal mask and must not be modified by the caller.
+     *
+     * @param color the piece color
+     * @return the occupancy mask for {@code color}
+     */
+    long[] mask(PieceColor color) {
+        return color == PieceColor.BLACK ? black : white;
+    }
+
+    /**
+     * Checks whether any piece occupies the given square.
+     *
+     * @param square the square index
+     * @return {@code true} if the square is occupied
+     */
+    public boolean isOccupied(int square) {
+        int word = square >>> 6;
+        return ((black[word] | white[word]) & (1L << square)) != 0;
+    }
+
+    /**
+     * Returns the color of the piece on the given square.
+     *
+     * @param square the square index
+     * @return the {@link PieceColor} on the square, or {@code null} if it is empty
+     */
+    public PieceColor colorAt(int square) {
+        if (test(black, square)) return PieceColor.BLACK;
+        if (test(white, square)) return PieceColor.WHITE;
+        return null;
+    }
+
+    /**
+     * Checks whether a piece of the given color occupies the given square.
+     *
+     * @param color  the piece color
+     * @param square the square index
+     * @return {@code true} if a piece of {@code color} stands on {@code square}
+     */
+    public boolean has(PieceColor color, int square) {
+        return test(mask(color), square);
+    }
+
+    /**
+     * Places a piece of the given color on a square, replacing whatever stood there.
+     *
+     * @param color  the piece color
+     * @param square the square index
+     */
+    public void place(PieceColor color, int square) {
+        remove(square);
+        set(mask(color), square);
+    }
+
+    /**
+     * Removes any piece from the given square.
+     *
+     * @param square the square index
+     */
+    public void remove(int square) {
+        clear(black, square);
+        clear(white, square);
+    }
+
+    /**
+     * Moves the piece on {@code from} to {@code to}. The destination is assumed empty.
+     *
+     * @param from the source square
+     * @param to   the destination square
+     */
+    public void move(int from, int to) {
+        long[] mask = test(black, from) ? black : white;
+        clear(mask, from);
+        set(mask, to);
+    }
+
+    /**
+     * Writes the mask of all occupied squares into {@code out}.
+     *
+     * @param out a {@code long[WORDS]} receiving the mask
+     */
+    public void occupancy(long[] out) {
+        for (int i = 0; i < WORDS; i++) out[i] = black[i] | white[i];
+    }
+
+    /**
+     * Writes the mask of all empty squares into {@code out}.
+     *
+     * @param out a {@code long[WORDS]} receiving the mask
+     */
+    public void empty(long[] out) {
+        for (int i = 0; i < WORDS; i++) out[i] = ~(black[i] | white[i]);
+    }
+
+    /**
+     * Writes the occupancy mask of one color into {@code out}.
+     *
+     * @param color the piece color
+     * @param out   a {@code long[WORDS]} receiving the mask
+     */
+    public void pieces(PieceColor color, long[] out) {
+        System.arraycopy(mask(color), 0, out, 0, WORDS);
+    }
+
+    /**
+     * Returns the number of pieces of the given color.
+     *
+     * @param color the piece color
+     * @return the piece count
+     */
+    public int count(PieceColor color) {
+        return popCount(mask(color));
+    }
+
+    /**
+     * Returns the number of pieces of the given color inside a mask.
+     *
+     * @param color the piece color
+     * @param area  the mask to count in
+     * @return the number of {@code color} pieces on squares of {@code area}
+     */
+    public int countIn(PieceColor color, long[] area) {
+        return popCountAnd(mask(color), area);
+    }
+
+    /**
+     * Removes all pieces from the board.
+     */
+    public void clear() {
+        for (int i = 0; i < WORDS; i++) {
+            black[i] = 0L;
+            white[i] = 0L;
+        }
+    }
+
+    /**
+     * Overwrites this bitboard with the contents of another.
+     *
+     * @param other the bitboard to copy
+     */
+    public void copyFrom(BitBoard other) {
+        System.arraycopy(other.black, 0, black, 0, WORDS);
+        System.arraycopy(other.white, 0, white, 0, WORDS);
+    }
+}
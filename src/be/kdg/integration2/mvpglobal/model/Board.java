@@ -5,8 +5,10 @@ import java.util.*;
 /**
  * Models the game board for Halma.
  * <p>
- * Maintains a grid of Positions and Pieces, and provides methods
- * to query, modify, and validate the board state.
+ * Stores piece placement in a {@link BitBoard} (one 256-bit occupancy mask per
+ * color) and provides methods to query, modify, and validate the board state.
+ * The {@link Position}-based methods are thin adapters over square-indexed
+ * bit operations.
  * </p>
  *
  * <p>Key responsibilities:</p>
@@ -21,29 +23,81 @@ import java.util.*;
  */
 public class Board {
     public static final int SIZE = 16;
-    private Piece[][] grid;
-
-    private final Set<Position> blackCamp = Set.of(
-            new Position(0, 0), new Position(0, 1), new Position(0, 2), new Position(0, 3), new Position(0, 4),
-            new Position(1, 0), new Position(1, 1), new Position(1, 2), new Position(1, 3), new Position(1, 4),
-            new Position(2, 0), new Position(2, 1), new Position(2, 2), new Position(2, 3),
-            new Position(3, 0), new Position(3, 1), new Position(3, 2),
-            new Position(4, 0), new Position(4, 1)
-    );
-
-    private final Set<Position> whiteCamp = Set.of(
-            new Position(15, 15), new Position(15, 14), new Position(15, 13), new Position(15, 12), new Position(15, 11),
-            new Position(14, 15), new Position(14, 14), new Position(14, 13), new Position(14, 12), new Position(14, 11),
-            new Position(13, 15), new Position(13, 14), new Position(13, 13), new Position(13, 12),
-            new Position(12, 15), new Position(12, 14), new Position(12, 13),
-            new Position(11, 15), new Position(11, 14)
-    );
+    /** Number of squares in each triangular camp; also the number of pieces per player. */
+    public static final int CAMP_SIZE = 19;
+
+    private static final long[] BLACK_CAMP = campMask(0, 0);
+    private static final long[] WHITE_CAMP = campMask(SIZE - 1, SIZE - 1);
+
+    private static final Piece BLACK_PIECE = new Piece(PieceColor.BLACK);
+    private static final Piece WHITE_PIECE = new Piece(PieceColor.WHITE);
+
+    private static volatile boolean verifyHash = Boolean.getBoolean("halma.verifyHash");
+
+    private final BitBoard bits = new BitBoard();
+    private PieceColor sideToMove = PieceColor.BLACK;
+    private long hash;
+    // Pieces of each color (by ordinal) standing in the camp that color has to reach.
+    private final int[] inTargetCamp = new int[2];
+    // Per color: the sums of the plain and hop-aware distances to the target camp
+    // (see DistanceTables), and how many pieces stand at each plain distance.
+    private final int[] distanceSum = new int[2];
+    private final int[] hopDistanceSum = new int[2];
+    private final int[][] distanceCounts = new int[2][DistanceTables.MAX_DISTANCE + 1];
+
+    // Undo stack for makeMove/unmakeMove: one packed (from | to << 8) int per move.
+    private int[] undoStack = new int[64];
+    private int undoSize;
+
+    // Scratch space for the hop-chain search; makes a Board unsafe to share between threads.
+    private final int[] hopQueue = new int[BitBoard.SQUARES];
+    private final int[] hopDepth = new int[BitBoard.SQUARES];
+    private final long[] hopVisited = new long[BitBoard.WORDS];
 
     public Board() {
-        grid = new Piece[SIZE][SIZE];
         initializeBoard();
     }
 
+    /**
+     * Creates a copy of another board's position and side to move.
+     * <p>
+     * Only the bitboard words are copied, so this is cheap; the undo history is not copied.
+     * </p>
+     *
+     * @param other the board to copy
+     */
+    public Board(Board other) {
+        bits.copyFrom(other.bits);
+        sideToMove = other.sideToMove;
+        hash = other.hash;
+        inTargetCamp[0] = other.inTargetCamp[0];
+        inTargetCamp[1] = other.inTargetCamp[1];
+        for (int c = 0; c < 2; c++) {
+            distanceSum[c] = other.distanceSum[c];
+            hopDistanceSum[c] = other.hopDistanceSum[c];
+            System.arraycopy(other.distanceCounts[c], 0, distanceCounts[c], 0, distanceCounts[c].length);
+        }
+    }
+
+    /**
+     * Builds the mask of the 19-square triangular camp in the given corner:
+     * every cell within a row+col distance of 5 from the corner, except the two
+     * cells at exactly 5 on the board edges.
+     */
+    private static long[] campMask(int cornerRow, int cornerCol) {
+        long[] mask = new long[BitBoard.WORDS];
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                int dr = Math.abs(row - cornerRow);
+                int dc = Math.abs(col - cornerCol);
+                if (dr + dc <= 5 && dr != 5 && dc != 5) {
+                    BitBoard.set(mask, BitBoard.square(row, col));
+                }
+            }
+        }
+        return mask;
+    }
+
     public int getSize() {
         return SIZE;
     }
@@ -51,31 +105,19 @@ public class Board {
     /**
      * Initializes the game board to its starting configuration.
      * <p>
-     * Clears all cells by setting them to {@code null}, then places
-     * BLACK pieces in the upper-left triangular camp (rows 0–5),
-     * and WHITE pieces in the lower-right triangular camp (rows 10–15).
-     * After placement, ensures the two central cells in each camp are empty:
-     * (0,5), (5,0), (10,15), and (15,10).
+     * Clears all cells, then places BLACK pieces on every square of the
+     * upper-left triangular camp (rows 0–4) and WHITE pieces on every square
+     * of the lower-right triangular camp (rows 11–15). BLACK moves first.
      * </p>
      */
     private void initializeBoard() {
-        for (int row = 0; row < SIZE; row++)
-            for (int col = 0; col < SIZE; col++)
-                grid[row][col] = null;
-
-        for (int row = 0; row <= 5; row++)
-            for (int col = 0; col <= 5 - row; col++)
-                grid[row][col] = new Piece(PieceColor.BLACK);
-
-        for (int row = 0; row < 16; row++)
-            for (int col = 0; col <= 5 - row; col++)
-                grid[15 - row][15 - col] = new Piece(PieceColor.WHITE);
-
-        grid[0][5] = null;
-        grid[5][0] = null;
-
-        grid[10][15] = null;
-        grid[15][10] = null;
+        bits.clear();
+        for (int square = 0; square < BitBoard.SQUARES; square++) {
+            if (BitBoard.test(BLACK_CAMP, square)) addPiece(PieceColor.BLACK, square);
+            else if (BitBoard.test(WHITE_CAMP, square)) addPiece(PieceColor.WHITE, square);
+        }
+        sideToMove = PieceColor.BLACK;
+        hash = hashFromScratch();
     }
 
     /**
@@ -96,41 +138,441 @@ public class Board {
     }
 
     public boolean isEmpty(Position pos) {
-        return isValidPosition(pos) && getPieceAt(pos) == null;
+        return isValidPosition(pos) && !bits.isOccupied(pos.index());
+    }
+
+    /**
+     * Checks whether the given square is empty.
+     *
+     * @param square the square index (0–255)
+     * @return {@code true} if no piece stands on {@code square}
+     */
+    public boolean isEmpty(int square) {
+        return !bits.isOccupied(square);
     }
 
     /**
      * Returns the piece at the specified position.
+     * <p>
+     * Pieces carry nothing but their color, so shared instances are returned.
+     * </p>
      *
      * @param pos the board coordinate
      * @return the Piece at pos, or null if empty
      */
     public Piece getPieceAt(Position pos) {
-        return grid[pos.getRow()][pos.getCol()];
+        return pieceOf(bits.colorAt(pos.index()));
+    }
+
+    /**
+     * Returns the color of the piece on the given square.
+     *
+     * @param square the square index (0–255)
+     * @return the color on {@code square}, or {@code null} if it is empty
+     */
+    public PieceColor getColorAt(int square) {
+        return bits.colorAt(square);
     }
 
     public void setPieceAt(Position pos, Piece piece) {
-        grid[pos.getRow()][pos.getCol()] = piece;
+        setColorAt(pos.index(), piece == null ? null : piece.getColor());
+    }
+
+    /**
+     * Places a piece of the given color on a square, or clears it.
+     *
+     * @param square the square index (0–255)
+     * @param color  the color to place, or {@code null} to empty the square
+     */
+    public void setColorAt(int square, PieceColor color) {
+        PieceColor previous = bits.colorAt(square);
+        if (previous != null) removePiece(previous, square);
+        if (color != null) addPiece(color, square);
+        if (verifyHash) checkIncrementalState();
+    }
+
+    /**
+     * Puts a piece on an empty square and updates the hash, camp counters and distance sums.
+     */
+    private void addPiece(PieceColor color, int square) {
+        BitBoard.set(bits.mask(color), square);
+        hash ^= Zobrist.pieceKey(color, square);
+        int c = color.ordinal();
+        if (BitBoard.test(targetCamp(color), square)) inTargetCamp[c]++;
+        int distance = DistanceTables.distance(color, square);
+        distanceSum[c] += distance;
+        hopDistanceSum[c] += DistanceTables.hopDistance(color, square);
+        distanceCounts[c][distance]++;
+    }
+
+    /**
+     * Takes a piece off its square and updates the hash, camp counters and distance sums.
+     */
+    private void removePiece(PieceColor color, int square) {
+        BitBoard.clear(bits.mask(color), square);
+        hash ^= Zobrist.pieceKey(color, square);
+        int c = color.ordinal();
+        if (BitBoard.test(targetCamp(color), square)) inTargetCamp[c]--;
+        int distance = DistanceTables.distance(color, square);
+        distanceSum[c] -= distance;
+        hopDistanceSum[c] -= DistanceTables.hopDistance(color, square);
+        distanceCounts[c][distance]--;
     }
 
     /**
      * Executes a move on this board, updating piece positions.
+     * <p>
+     * Every move completes a turn, so the side to move is switched as well.
+     * </p>
      */
     public void movePiece(Position from, Position to) {
-        Piece piece = getPieceAt(from);
-        setPieceAt(to, piece);
-        setPieceAt(from, null);
+        movePiece(from.index(), to.index());
+    }
+
+    /**
+     * Executes a move on this board given as square indices.
+     *
+     * @param from the source square
+     * @param to   the destination square
+     */
+    public void movePiece(int from, int to) {
+        PieceColor color = bits.colorAt(from);
+        PieceColor replaced = bits.colorAt(to);
+        if (replaced != null) removePiece(replaced, to);
+        if (color != null) {
+            removePiece(color, from);
+            addPiece(color, to);
+        }
+        sideToMove = opponent(sideToMove);
+        hash ^= Zobrist.sideKey();
+        if (verifyHash) checkIncrementalState();
+    }
+
+    /**
+     * Plays a move that can later be taken back with {@link #unmakeMove()}.
+     * <p>
+     * The move is recorded on a compact undo stack of packed ints, so a search can
+     * make and unmake millions of moves on a single board without producing garbage.
+     * </p>
+     *
+     * @param from the source square
+     * @param to   the destination square, which must be empty
+     */
+    public void makeMove(int from, int to) {
+        if (undoSize == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoSize * 2);
+        }
+        undoStack[undoSize++] = from | (to << 8);
+        movePiece(from, to);
+    }
+
+    /**
+     * Plays a {@link Move} that can later be taken back with {@link #unmakeMove()}.
+     *
+     * @param move the move to play
+     */
+    public void makeMove(Move move) {
+        makeMove(move.getStart().index(), move.getEnd().index());
+    }
+
+    /**
+     * Takes back the most recent move made with {@link #makeMove(int, int)},
+     * restoring pieces, side to move and hash.
+     *
+     * @throws IllegalStateException if there is no move to take back
+     */
+    public void unmakeMove() {
+        if (undoSize == 0) {
+            throw new IllegalStateException("No move to unmake");
+        }
+        int packed = undoStack[--undoSize];
+        movePiece(packed >>> 8, packed & 0xFF);
+    }
+
+    /**
+     * Returns the number of moves that can currently be taken back.
+     *
+     * @return the depth of the undo stack
+     */
+    public int getUndoDepth() {
+        return undoSize;
+    }
+
+    /**
+     * Returns the color whose turn it is.
+     *
+     * @return the side to move
+     */
+    public PieceColor getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Sets the color whose turn it is, e.g. when setting up a position by hand.
+     *
+     * @param color the side to move
+     */
+    public void setSideToMove(PieceColor color) {
+        if (color != sideToMove) {
+            sideToMove = color;
+            hash ^= Zobrist.sideKey();
+        }
+    }
+
+    /**
+     * Returns the Zobrist hash of the current position, including the side to move.
+     * It is maintained incrementally and costs nothing to read.
+     *
+     * @return the 64-bit position key
+     */
+    public long hash() {
+        return hash;
+    }
+
+    /**
+     * Returns the Zobrist hash the position would have after moving the piece on
+     * {@code from} to the empty square {@code to}, without playing the move.
+     *
+     * @param from the source square
+     * @param to   the destination square
+     * @return the 64-bit position key after the move
+     */
+    public long hashAfter(int from, int to) {
+        PieceColor color = bits.colorAt(from);
+        long after = hash ^ Zobrist.sideKey();
+        if (color != null) {
+            after ^= Zobrist.pieceKey(color, from) ^ Zobrist.pieceKey(color, to);
+        }
+        return after;
+    }
+
+    /**
+     * Recomputes the Zobrist hash of the current position from scratch.
+     *
+     * @return the 64-bit position key
+     */
+    public long computeHash() {
+        return hashFromScratch();
+    }
+
+    // private, so the constructor can use it without calling an overridable method
+    private long hashFromScratch() {
+        long key = sideToMove == PieceColor.WHITE ? Zobrist.sideKey() : 0L;
+        for (int square = 0; square < BitBoard.SQUARES; square++) {
+            PieceColor color = bits.colorAt(square);
+            if (color != null) key ^= Zobrist.pieceKey(color, square);
+        }
+        return key;
+    }
+
+    /**
+     * Switches hash verification on or off for all boards. When on, every update
+     * recomputes the hash, the camp counters and the distance sums from scratch and fails fast if an
+     * incremental value differs.
+     * Can also be enabled with the system property {@code halma.verifyHash}.
+     *
+     * @param enabled whether to verify the hash after every update
+     */
+    public static void setHashVerification(boolean enabled) {
+        verifyHash = enabled;
     }
 
+    private void checkIncrementalState() {
+        long expected = computeHash();
+        if (expected != hash) {
+            throw new IllegalStateException("Incremental hash " + Long.toHexString(hash)
+                    + " differs from recomputed hash " + Long.toHexString(expected));
+        }
+        for (PieceColor color : PieceColor.values()) {
+            int count = bits.countIn(color, targetCamp(color));
+            if (count != inTargetCamp[color.ordinal()]) {
+                throw new IllegalStateException("Incremental camp count " + inTargetCamp[color.ordinal()]
+                        + " of " + color + " differs from recomputed count " + count);
+            }
+            int distance = 0;
+            int hopDistance = 0;
+            int farthest = 0;
+            for (int square = 0; square < BitBoard.SQUARES; square++) {
+                if (bits.colorAt(square) != color) continue;
+                distance += DistanceTables.distance(color, square);
+                hopDistance += DistanceTables.hopDistance(color, square);
+                farthest = Math.max(farthest, DistanceTables.distance(color, square));
+            }
+            if (distance != distanceSum[color.ordinal()] || hopDistance != hopDistanceSum[color.ordinal()]
+                    || farthest != getMaxDistance(color)) {
+                throw new IllegalStateException("Incremental distances of " + color + " differ from recomputed "
+                        + distance + "/" + hopDistance + "/" + farthest);
+            }
+        }
+    }
+
+    /**
+     * Returns the opposing color.
+     *
+     * @param color a piece color
+     * @return the other color
+     */
+    public static PieceColor opponent(PieceColor color) {
+        return color == PieceColor.BLACK ? PieceColor.WHITE : PieceColor.BLACK;
+    }
+
+    /**
+     * Returns a snapshot of the board as a grid of pieces.
+     * <p>
+     * The grid is rebuilt on every call; changes to it are not reflected on the board.
+     * </p>
+     *
+     * @return a new {@code SIZE x SIZE} array of pieces ({@code null} for empty cells)
+     */
     public Piece[][] getGrid() {
+        Piece[][] grid = new Piece[SIZE][SIZE];
+        for (int square = 0; square < BitBoard.SQUARES; square++) {
+            grid[BitBoard.row(square)][BitBoard.col(square)] = pieceOf(bits.colorAt(square));
+        }
         return grid;
     }
 
+    /**
+     * Writes the mask of all occupied squares into {@code out}.
+     *
+     * @param out a {@code long[BitBoard.WORDS]} receiving the mask
+     */
+    public void occupancy(long[] out) {
+        bits.occupancy(out);
+    }
+
+    /**
+     * Writes the mask of all empty squares into {@code out}.
+     *
+     * @param out a {@code long[BitBoard.WORDS]} receiving the mask
+     */
+    public void emptySquares(long[] out) {
+        bits.empty(out);
+    }
+
+    /**
+     * Writes the occupancy mask of one color into {@code out}.
+     *
+     * @param color the piece color
+     * @param out   a {@code long[BitBoard.WORDS]} receiving the mask
+     */
+    public void pieces(PieceColor color, long[] out) {
+        bits.pieces(color, out);
+    }
+
+    /**
+     * Writes the mask of the starting camp of the given color into {@code out}.
+     * The starting camp of one color is the target camp of the other.
+     *
+     * @param color the color whose home camp is requested
+     * @param out   a {@code long[BitBoard.WORDS]} receiving the mask
+     */
+    public static void campMask(PieceColor color, long[] out) {
+        System.arraycopy(homeCamp(color), 0, out, 0, BitBoard.WORDS);
+    }
+
+    /**
+     * Checks whether a square lies in the starting camp of the given color.
+     *
+     * @param color  the color whose home camp is tested
+     * @param square the square index
+     * @return {@code true} if {@code square} belongs to that camp
+     */
+    public static boolean isInCamp(PieceColor color, int square) {
+        return BitBoard.test(homeCamp(color), square);
+    }
+
+    /**
+     * Returns the number of pieces of {@code color} standing in the camp it has to reach.
+     * <p>
+     * The count is maintained incrementally on every update, so reading it is free.
+     * </p>
+     *
+     * @param color the piece color
+     * @return the number of pieces already in the target camp
+     */
+    public int countInTargetCamp(PieceColor color) {
+        return inTargetCamp[color.ordinal()];
+    }
+
+    /**
+     * Returns the number of pieces of {@code color} that still have to reach the target camp.
+     *
+     * @param color the piece color
+     * @return the number of pieces outside the target camp
+     */
+    public int countOutsideTargetCamp(PieceColor color) {
+        return bits.count(color) - inTargetCamp[color.ordinal()];
+    }
+
+    /**
+     * Returns the number of empty squares in the camp {@code color} has to reach.
+     * Pieces of the other color left in that camp block squares a piece outside
+     * still needs, so the side can only finish once they have left.
+     *
+     * @param color the piece color
+     * @return the number of unoccupied target-camp squares
+     */
+    public int countEmptyTargetCamp(PieceColor color) {
+        long[] camp = targetCamp(color);
+        return CAMP_SIZE - bits.countIn(PieceColor.WHITE, camp) - bits.countIn(PieceColor.BLACK, camp);
+    }
+
+    /**
+     * Returns the sum over all pieces of {@code color} of their step distance to the
+     * target camp (see {@link DistanceTables#distance}). Maintained incrementally.
+     *
+     * @param color the piece color
+     * @return the total distance still to cover; 0 once every piece is in the camp
+     */
+    public int getDistanceSum(PieceColor color) {
+        return distanceSum[color.ordinal()];
+    }
+
+    /**
+     * Returns the sum over all pieces of {@code color} of their hop-aware distance to
+     * the target camp (see {@link DistanceTables#hopDistance}). Maintained incrementally.
+     *
+     * @param color the piece color
+     * @return the total hop distance still to cover
+     */
+    public int getHopDistanceSum(PieceColor color) {
+        return hopDistanceSum[color.ordinal()];
+    }
+
+    /**
+     * Returns the step distance of the piece of {@code color} farthest from its
+     * target camp: the straggler that decides how long the race still lasts.
+     *
+     * @param color the piece color
+     * @return the largest distance of any piece, or 0 if all pieces are in the camp
+     */
+    public int getMaxDistance(PieceColor color) {
+        int[] counts = distanceCounts[color.ordinal()];
+        for (int distance = DistanceTables.MAX_DISTANCE; distance > 0; distance--) {
+            if (counts[distance] > 0) return distance;
+        }
+        return 0;
+    }
+
+    private static long[] homeCamp(PieceColor color) {
+        return color == PieceColor.BLACK ? BLACK_CAMP : WHITE_CAMP;
+    }
+
+    private static long[] targetCamp(PieceColor color) {
+        return color == PieceColor.BLACK ? WHITE_CAMP : BLACK_CAMP;
+    }
+
+    private static Piece pieceOf(PieceColor color) {
+        if (color == null) return null;
+        return color == PieceColor.BLACK ? BLACK_PIECE : WHITE_PIECE;
+    }
+
     /**
      * Returns all adjacent empty positions that a piece can move to in a single step.
      * <p>
-     * Scans the eight surrounding cells (up, down, left, right, and diagonals)
-     * and collects those that lie within the board bounds and are unoccupied.
+     * Scans the precomputed neighbours (up, down, left, right, and diagonals)
+     * of the piece and collects those that are unoccupied.
      * </p>
      *
      * @param from the current position of the piece
@@ -138,16 +580,9 @@ public class Board {
      */
     public List<Position> getSimpleValidMoves(Position from) {
         List<Position> moves = new ArrayList<>();
-        int row = from.getRow();
-        int col = from.getCol();
-        // Check all 8 directions around the piece
-        for (int dr = -1; dr <= 1; dr++) {
-            for (int dc = -1; dc <= 1; dc++) {
-                if (dr == 0 && dc == 0) continue; // Skip the original square
-                Position to = new Position(row + dr, col + dc);
-                if (isValidPosition(to) && isEmpty(to)) {
-                    moves.add(to);
-                }
+        for (int to : BoardTables.NEIGHBORS[from.index()]) {
+            if (!bits.isOccupied(to)) {
+                moves.add(Position.ofSquare(to));
             }
         }
         return moves;
@@ -156,8 +591,8 @@ public class Board {
     /**
      * Determines whether a move from one position to another is legal.
      * <p>
-     * Considers single‐step adjacency, valid jump over a piece,
-     * and whether the destination cell is empty.
+     * Considers single‐step adjacency, chains of one or more jumps over
+     * pieces, and whether the destination cell is empty.
      * </p>
      *
      * @param from the starting Position of the piece
@@ -166,19 +601,102 @@ public class Board {
      */
     public boolean isLegalMove(Position from, Position to) {
         if (!isValidPosition(from) || !isValidPosition(to)) return false;
-        if (!isEmpty(to)) return false;
-        int dr = Math.abs(to.getRow() - from.getRow());
-        int dc = Math.abs(to.getCol() - from.getCol());
+        return isLegalMove(from.index(), to.index());
+    }
+
+    /**
+     * Determines whether a move between two squares is legal.
+     *
+     * @param from the source square
+     * @param to   the destination square
+     * @return {@code true} if {@code to} is empty and reachable by a step or a jump chain
+     */
+    public boolean isLegalMove(int from, int to) {
+        if (from == to || bits.isOccupied(to)) return false;
         // single‐step move
-        if (dr <= 1 && dc <= 1) return true;
-        // jump move (exactly two spaces, with a piece in between)
-        if ((dr == 2 || dc == 2) && (dr <= 2 && dc <= 2)) {
-            int midRow = (from.getRow() + to.getRow()) / 2;
-            int midCol = (from.getCol() + to.getCol()) / 2;
-            Position mid = new Position(midRow, midCol);
-            return getPieceAt(mid) != null;
+        if (BitBoard.test(BoardTables.NEIGHBOR_MASKS[from], to)) return true;
+        // jump chains only ever land an even number of rows and columns away
+        if (((from ^ to) & 0x11) != 0) return false;
+        return searchHops(from, to, null) > 0;
+    }
+
+    /**
+     * Generates every legal move for the given color into {@code out}.
+     * <p>
+     * For each piece, all empty neighbouring squares are added as steps, followed by
+     * every square reachable through a chain of one or more jumps. Each destination
+     * is reported once, with the smallest number of hops needed to reach it.
+     * The list is cleared first; once it has grown to its working size no objects are allocated.
+     * </p>
+     *
+     * @param color the color to move
+     * @param out   the list receiving the moves
+     */
+    public void generateMoves(PieceColor color, MoveList out) {
+        out.clear();
+        long[] own = bits.mask(color);
+        for (int word = 0; word < BitBoard.WORDS; word++) {
+            long pending = own[word];
+            while (pending != 0) {
+                int from = (word << 6) | Long.numberOfTrailingZeros(pending);
+                pending &= pending - 1;
+                generatePieceMoves(from, out);
+            }
         }
-        return false;
+    }
+
+    /**
+     * Appends every legal move of the piece on {@code from} to {@code out},
+     * without clearing the list first.
+     *
+     * @param from the square of the piece to move
+     * @param out  the list receiving the moves
+     */
+    public void generatePieceMoves(int from, MoveList out) {
+        for (int to : BoardTables.NEIGHBORS[from]) {
+            if (!bits.isOccupied(to)) out.add(from, to, 0);
+        }
+        searchHops(from, -1, out);
+    }
+
+    /**
+     * Breadth-first search over jump chains starting at {@code from}.
+     * <p>
+     * The moving piece has left its origin, so it can never jump over its own
+     * starting square. Landing squares are recorded in a visited mask, which
+     * stops chains from cycling.
+     * </p>
+     *
+     * @param from   the square of the moving piece
+     * @param target the square to look for, or -1 to explore every chain
+     * @param out    list receiving every landing square, or {@code null}
+     * @return the hop count at which {@code target} was reached, or -1
+     */
+    private int searchHops(int from, int target, MoveList out) {
+        for (int i = 0; i < BitBoard.WORDS; i++) hopVisited[i] = 0L;
+        BitBoard.set(hopVisited, from);
+        int head = 0;
+        int tail = 0;
+        hopQueue[tail] = from;
+        hopDepth[tail++] = 0;
+        while (head < tail) {
+            int square = hopQueue[head];
+            int depth = hopDepth[head++] + 1;
+            int[] jumps = BoardTables.JUMPS[square];
+            int[] overs = BoardTables.OVER[square];
+            for (int j = 0; j < jumps.length; j++) {
+                int over = overs[j];
+                int land = jumps[j];
+                if (over == from || !bits.isOccupied(over) || bits.isOccupied(land)
+                        || BitBoard.test(hopVisited, land)) continue;
+                if (land == target) return depth;
+                BitBoard.set(hopVisited, land);
+                hopQueue[tail] = land;
+                hopDepth[tail++] = depth;
+                if (out != null) out.add(from, land, depth);
+            }
+        }
+        return -1;
     }
 
     /**
@@ -190,21 +708,15 @@ public class Board {
      * (the first four rows) is occupied by a WHITE piece.
      * </p>
      *
+     * <p>
+     * Runs in constant time on the incrementally maintained camp counter.
+     * </p>
+     *
      * @return {@code true} if all goal‐camp positions are occupied by the given color; {@code false} otherwise
      */
 
     public boolean hasPlayerWon(PieceColor color) {
-        Set<Position> targetCamp = (color == PieceColor.BLACK) ? whiteCamp : blackCamp;
-        int correctPieces = 0;
-
-        for (Position pos : targetCamp) {
-            Piece p = grid[pos.getRow()][pos.getCol()];
-            if (p != null && p.getColor() == color) {
-                correctPieces++;
-            }
-        }
-
         // A player wins only when all their pieces are in the opponent's starting camp
-        return correctPieces == blackCamp.size(); // both camps are assumed to be the same size
+        return countInTargetCamp(color) == CAMP_SIZE;
     }
-}
\ No newline at end of file
+}
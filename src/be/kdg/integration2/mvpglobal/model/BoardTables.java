@@ -0,0 +1,59 @@
+package be.kdg.integration2.mvpglobal.model;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed adjacency tables for the 16x16 board, indexed by square (0–255).
+ * <p>
+ * For every square the tables list the neighbouring squares, the squares a jump
+ * can land on and, at the same index, the square being jumped over. Entries that
+ * would fall off the board are left out, so move generation can iterate the
+ * arrays without any bounds checks or coordinate arithmetic.
+ * </p>
+ */
+public final class BoardTables {
+    /** The up to eight squares adjacent to each square. */
+    public static final int[][] NEIGHBORS = new int[BitBoard.SQUARES][];
+    /** The up to eight jump landing squares of each square. */
+    public static final int[][] JUMPS = new int[BitBoard.SQUARES][];
+    /** For each entry of {@link #JUMPS}, the square that is jumped over. */
+    public static final int[][] OVER = new int[BitBoard.SQUARES][];
+    /** The neighbours of each square as a 256-bit mask, for constant-time adjacency tests. */
+    public static final long[][] NEIGHBOR_MASKS = new long[BitBoard.SQUARES][BitBoard.WORDS];
+
+    private static final int[] DR = {-1, -1, -1, 0, 0, 1, 1, 1};
+    private static final int[] DC = {-1, 0, 1, -1, 1, -1, 0, 1};
+
+    static {
+        int[] neighbors = new int[DR.length];
+        int[] jumps = new int[DR.length];
+        int[] over = new int[DR.length];
+        for (int square = 0; square < BitBoard.SQUARES; square++) {
+            int row = BitBoard.row(square);
+            int col = BitBoard.col(square);
+            int neighborCount = 0;
+            int jumpCount = 0;
+            for (int d = 0; d < DR.length; d++) {
+                if (onBoard(row + DR[d], col + DC[d])) {
+                    int next = BitBoard.square(row + DR[d], col + DC[d]);
+                    neighbors[neighborCount++] = next;
+                    BitBoard.set(NEIGHBOR_MASKS[square], next);
+                    if (onBoard(row + 2 * DR[d], col + 2 * DC[d])) {
+                        over[jumpCount] = next;
+                        jumps[jumpCount++] = BitBoard.square(row + 2 * DR[d], col + 2 * DC[d]);
+                    }
+                }
+            }
+            NEIGHBORS[square] = Arrays.copyOf(neighbors, neighborCount);
+            JUMPS[square] = Arrays.copyOf(jumps, jumpCount);
+            OVER[square] = Arrays.copyOf(over, jumpCount);
+        }
+    }
+
+    private BoardTables() {
+    }
+
+    private static boolean onBoard(int row, int col) {
+        return row >= 0 && row < Board.SIZE && col >= 0 && col < Board.SIZE;
+    }
+}
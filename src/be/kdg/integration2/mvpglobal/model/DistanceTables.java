@@ -0,0 +1,93 @@
+package be.kdg.integration2.mvpglobal.model;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed distances from every square to the target camp of each color.
+ * <p>
+ * Two measures are kept, both 0 inside the camp:
+ * </p>
+ * <ul>
+ *   <li>the plain distance: the number of single steps needed, which on this
+ *       board, where steps go in all eight directions, is the Chebyshev distance;</li>
+ *   <li>the hop distance: the number of moves needed if every move could also be
+ *       a single jump, as if a stepping stone were always in place. It estimates
+ *       how far a piece is in tempo when the pieces form ladders.</li>
+ * </ul>
+ * <p>
+ * Both tables are filled by a breadth-first search outward from the camp.
+ * </p>
+ */
+public final class DistanceTables {
+    /** Largest value in either table. */
+    public static final int MAX_DISTANCE = 15;
+
+    // indexed by color ordinal, then square
+    private static final int[][] DISTANCE = new int[2][];
+    private static final int[][] HOP_DISTANCE = new int[2][];
+
+    static {
+        for (PieceColor color : PieceColor.values()) {
+            DISTANCE[color.ordinal()] = distancesToTargetCamp(color, false);
+            HOP_DISTANCE[color.ordinal()] = distancesToTargetCamp(color, true);
+        }
+    }
+
+    private DistanceTables() {
+    }
+
+    /**
+     * Returns the number of steps a piece of {@code color} on {@code square} needs
+     * to reach its target camp.
+     *
+     * @param color  the color of the piece
+     * @param square the square index
+     * @return the Chebyshev distance to the nearest target camp square
+     */
+    public static int distance(PieceColor color, int square) {
+        return DISTANCE[color.ordinal()][square];
+    }
+
+    /**
+     * Returns the number of steps or single jumps a piece of {@code color} on
+     * {@code square} needs to reach its target camp.
+     *
+     * @param color  the color of the piece
+     * @param square the square index
+     * @return the hop-aware distance to the nearest target camp square
+     */
+    public static int hopDistance(PieceColor color, int square) {
+        return HOP_DISTANCE[color.ordinal()][square];
+    }
+
+    private static int[] distancesToTargetCamp(PieceColor color, boolean withJumps) {
+        int[] distance = new int[BitBoard.SQUARES];
+        int[] queue = new int[BitBoard.SQUARES];
+        int head = 0;
+        int tail = 0;
+        Arrays.fill(distance, -1);
+        for (int square = 0; square < BitBoard.SQUARES; square++) {
+            if (Board.isInCamp(Board.opponent(color), square)) {
+                distance[square] = 0;
+                queue[tail++] = square;
+            }
+        }
+        while (head < tail) {
+            int square = queue[head++];
+            for (int next : BoardTables.NEIGHBORS[square]) {
+                if (distance[next] < 0) {
+                    distance[next] = distance[square] + 1;
+                    queue[tail++] = next;
+                }
+            }
+            if (!withJumps) continue;
+            for (int next : BoardTables.JUMPS[square]) {
+                if (distance[next] < 0) {
+                    distance[next] = distance[square] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return distance;
+    }
+}
@@ -47,8 +47,8 @@ public class HumanPlayer extends Player {
         int endRow = scanner.nextInt();
         int endCol = scanner.nextInt();
 
-        Position from = new Position(startRow, startCol);
-        Position to   = new Position(endRow, endCol);
+        Position from = Position.of(startRow, startCol);
+        Position to   = Position.of(endRow, endCol);
 
         if (!board.isValidPosition(from) || !board.isValidPosition(to)) {
             System.out.println("Invalid position.");
@@ -0,0 +1,128 @@
+package be.kdg.integration2.mvpglobal.model;
+
+import be.kdg.integration2.mvpglobal.model.book.OpeningBook;
+import be.kdg.integration2.mvpglobal.model.mcts.MctsEngine;
+import be.kdg.integration2.mvpglobal.model.mcts.MctsResult;
+import be.kdg.integration2.mvpglobal.model.search.EndgameSolver;
+
+/**
+ * Computer player that chooses its moves with Monte Carlo Tree Search.
+ * <p>
+ * Instead of evaluating positions with a fixed look-ahead like {@link SearchAI},
+ * this player plays many short, mostly greedy games from the current position and
+ * prefers the moves that turn out well most often. Every thread grows its own
+ * search tree within a fixed share of the memory budget. Every decision is
+ * reported on the console with the number of playouts, the speed and the tree size.
+ * Positions found in the {@link OpeningBook} are answered from the book without searching,
+ * and once only a few pieces are left outside the target camp, the
+ * {@link EndgameSolver} plays the shortest finish.
+ * </p>
+ */
+public class MctsAI extends Player {
+    /** Memory for the search trees used when none is given, in megabytes. */
+    public static final int DEFAULT_MEMORY_MB = 64;
+
+    private final MctsEngine engine;
+    private long timeBudgetMillis = SearchAI.DEFAULT_TIME_BUDGET_MILLIS;
+    private MctsResult lastResult;
+    private OpeningBook openingBook = OpeningBook.getDefault();
+    private EndgameSolver endgameSolver = new EndgameSolver();
+
+    /**
+     * Creates a single-threaded Monte Carlo player with the default memory budget.
+     *
+     * @param name  the display name of the player
+     * @param color the color of pieces this player controls
+     */
+    public MctsAI(String name, PieceColor color) {
+        this(name, color, 1, DEFAULT_MEMORY_MB);
+    }
+
+    /**
+     * Creates a Monte Carlo player.
+     *
+     * @param name     the display name of the player
+     * @param color    the color of pieces this player controls
+     * @param threads  the number of trees searched in parallel
+     * @param memoryMb the memory for all search trees together, in megabytes
+     */
+    public MctsAI(String name, PieceColor color, int threads, int memoryMb) {
+        super(name, color);
+        this.engine = new MctsEngine(threads, (long) memoryMb << 20);
+    }
+
+    /**
+     * Sets the thinking time per move. Values outside the range accepted by
+     * {@link SearchAI#setTimeBudgetMillis(long)} are clamped the same way.
+     *
+     * @param timeBudgetMillis the thinking time per move, in milliseconds
+     */
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = Math.max(SearchAI.MIN_TIME_BUDGET_MILLIS,
+                Math.min(timeBudgetMillis, SearchAI.MAX_TIME_BUDGET_MILLIS));
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    public void setEndgameSolver(EndgameSolver endgameSolver) {
+        this.endgameSolver = endgameSolver;
+    }
+
+    /**
+     * Searches the current position and returns the most promising move.
+     * <p>
+     * The search runs on copies of {@code board}, so the game board is never touched.
+     * If the calling thread is interrupted, the search ends early.
+     * </p>
+     *
+     * @param board the current game board
+     * @return the chosen move, or {@code null} if this player cannot move
+     */
+    @Override
+    public Move getMove(Board board) {
+        int bookMove = openingBook.findMove(board, color);
+        if (bookMove != PackedMove.NONE) {
+            System.out.println("MctsAI: book move " + PackedMove.toString(bookMove));
+            return PackedMove.toMove(bookMove);
+        }
+        if (endgameSolver.isApplicable(board, color)) {
+            int finish = endgameSolver.solve(board, color);
+            if (finish != PackedMove.NONE) {
+                System.out.println("MctsAI: endgame move " + PackedMove.toString(finish)
+                        + " (" + endgameSolver.getSolutionLength() + " moves to finish)");
+                return PackedMove.toMove(finish);
+            }
+        }
+
+        Board position = new Board(board);
+        position.setSideToMove(color);
+        lastResult = engine.search(position, timeBudgetMillis * 1_000_000L, Thread.currentThread()::isInterrupted);
+        int threads = engine.getThreads();
+        System.out.println("MctsAI (" + threads + " thread" + (threads == 1 ? "" : "s") + "): " + lastResult);
+        if (lastResult.getBestMove() == PackedMove.NONE) return null;
+        return PackedMove.toMove(lastResult.getBestMove());
+    }
+
+    /**
+     * Returns the statistics of the most recent decision.
+     *
+     * @return the last search result, or {@code null} before the first move
+     */
+    public MctsResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Shuts down the worker threads of the search.
+     */
+    @Override
+    public void shutdown() {
+        engine.shutdown();
+    }
+}
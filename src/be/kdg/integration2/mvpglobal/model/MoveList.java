@@ -0,0 +1,189 @@
+package be.kdg.integration2.mvpglobal.model;
+
+import java.util.Arrays;
+
+/**
+ * Growable, allocation-free list of packed moves.
+ * <p>
+ * Moves are stored as {@link PackedMove} ints with a parallel {@code int} score
+ * per move, which search code uses for move ordering through
+ * {@link #sortByScore()}. A list is filled by
+ * {@link Board#generateMoves(PieceColor, MoveList)} and can be cleared and refilled
+ * any number of times; the backing arrays only grow, so a list that has reached
+ * its working size never allocates again. {@link Move} objects are only created
+ * on demand through {@link #toMove(int)}.
+ * </p>
+ */
+public final class MoveList {
+    private static final int DEFAULT_CAPACITY = 128;
+
+    private int[] moves;
+    private int[] scores;
+    private int size;
+
+    /**
+     * Creates an empty list with a default initial capacity.
+     */
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity.
+     *
+     * @param capacity the initial number of moves the list can hold before growing
+     */
+    public MoveList(int capacity) {
+        moves = new int[Math.max(capacity, 1)];
+        scores = new int[moves.length];
+    }
+
+    /**
+     * Removes all moves from the list.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Appends a packed move with a score of zero.
+     *
+     * @param move the packed move
+     */
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+            scores = Arrays.copyOf(scores, size * 2);
+        }
+        moves[size] = move;
+        scores[size++] = 0;
+    }
+
+    /**
+     * Appends a move.
+     *
+     * @param fromSquare the source square
+     * @param toSquare   the destination square
+     * @param hopCount   0 for a step, otherwise the number of hops in the chain
+     */
+    public void add(int fromSquare, int toSquare, int hopCount) {
+        add(PackedMove.encode(fromSquare, toSquare, hopCount));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the packed move at the given index.
+     *
+     * @param index the move index
+     * @return the packed move
+     */
+    public int get(int index) {
+        return moves[index];
+    }
+
+    public int from(int index) {
+        return PackedMove.from(moves[index]);
+    }
+
+    public int to(int index) {
+        return PackedMove.to(moves[index]);
+    }
+
+    public int hops(int index) {
+        return PackedMove.hops(moves[index]);
+    }
+
+    public boolean isJump(int index) {
+        return PackedMove.isJump(moves[index]);
+    }
+
+    public int score(int index) {
+        return scores[index];
+    }
+
+    public void setScore(int index, int score) {
+        scores[index] = score;
+    }
+
+    /**
+     * Returns the index of the given move, comparing source and destination only.
+     *
+     * @param move the packed move to look for
+     * @return its index, or -1 if it is not in the list
+     */
+    public int indexOf(int move) {
+        int squares = PackedMove.squares(move);
+        for (int i = 0; i < size; i++) {
+            if (PackedMove.squares(moves[i]) == squares) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Exchanges two entries, moves and scores together.
+     *
+     * @param i the first index
+     * @param j the second index
+     */
+    public void swap(int i, int j) {
+        int move = moves[i];
+        moves[i] = moves[j];
+        moves[j] = move;
+        int score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+
+    /**
+     * Sorts the moves by descending score, in place. The sort is stable, so moves
+     * with equal scores keep their generation order.
+     */
+    public void sortByScore() {
+        // insertion sort: move lists are short and often nearly sorted already
+        for (int i = 1; i < size; i++) {
+            int move = moves[i];
+            int score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                moves[j + 1] = moves[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves[j + 1] = move;
+            scores[j + 1] = score;
+        }
+    }
+
+    /**
+     * Brings the highest-scored entry at or after {@code index} to {@code index}.
+     * Calling this for index 0, 1, 2, ... visits the moves in descending score
+     * order, but only does the work for the moves actually visited, which is
+     * cheaper than a full sort when a search cuts off early.
+     *
+     * @param index the position to fill
+     */
+    public void selectBest(int index) {
+        int best = index;
+        for (int i = index + 1; i < size; i++) {
+            if (scores[i] > scores[best]) best = i;
+        }
+        if (best != index) swap(index, best);
+    }
+
+    /**
+     * Converts the move at the given index into a {@link Move} for the UI and rules.
+     *
+     * @param index the move index
+     * @return a new {@code Move} object
+     */
+    public Move toMove(int index) {
+        return PackedMove.toMove(moves[index]);
+    }
+}
@@ -0,0 +1,61 @@
+package be.kdg.integration2.mvpglobal.model;
+
+import be.kdg.integration2.mvpglobal.model.rulebasedsystem.rules.RulesHandler;
+import be.kdg.integration2.mvpglobal.model.search.OffHeapTranspositionTable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The kinds of opponent the human player can choose when starting a game.
+ * <p>
+ * If the system property {@code halma.hashFile} names a file, the search player
+ * keeps its transposition table in that file, so it remembers positions between runs.
+ * The search player ponders while the human is thinking.
+ * </p>
+ */
+public enum OpponentType {
+    /** A second human player at the same screen. */
+    HUMAN,
+    /** The rule-based computer player ({@link AI}). */
+    RULE_BASED_AI,
+    /** The alpha-beta search computer player ({@link SearchAI}). */
+    SEARCH_AI,
+    /** The Monte Carlo Tree Search computer player ({@link MctsAI}). */
+    MCTS_AI;
+
+    /**
+     * Creates the player for this opponent type.
+     *
+     * @param color the color the opponent plays
+     * @return a new, ready-to-use player; call {@link Player#shutdown()} when the game is left
+     */
+    public Player createPlayer(PieceColor color) {
+        switch (this) {
+            case RULE_BASED_AI:
+                AI ai = new AI("Computer", color);
+                ai.setRulesHandler(new RulesHandler());
+                return ai;
+            case SEARCH_AI:
+                SearchAI searchAI = null;
+                String hashFile = System.getProperty("halma.hashFile");
+                if (hashFile != null) {
+                    try {
+                        searchAI = new SearchAI("Computer", color,
+                                new OffHeapTranspositionTable(Path.of(hashFile), SearchAI.DEFAULT_HASH_SIZE_MB));
+                    } catch (IOException e) {
+                        System.err.println("Cannot open hash file " + hashFile + ": " + e.getMessage());
+                    }
+                }
+                if (searchAI == null) searchAI = new SearchAI("Computer", color);
+                searchAI.setThreads(Runtime.getRuntime().availableProcessors());
+                searchAI.setPondering(true);
+                return searchAI;
+            case MCTS_AI:
+                return new MctsAI("Computer", color, Runtime.getRuntime().availableProcessors(),
+                        MctsAI.DEFAULT_MEMORY_MB);
+            default:
+                return new HumanPlayer("Player 2", color);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package be.kdg.integration2.mvpglobal.model;
+
+/**
+ * Encodes a move into a single {@code int}.
+ * <p>
+ * Layout, from the least significant bit:
+ * </p>
+ * <ul>
+ *   <li>bits 0–7: source square</li>
+ *   <li>bits 8–15: destination square</li>
+ *   <li>bit 16: jump flag</li>
+ *   <li>bits 17–23: number of hops in the jump chain (0 for a step)</li>
+ * </ul>
+ * <p>
+ * A source equal to its destination is never a legal move, so {@link #NONE}
+ * ({@code 0}) can stand for "no move". {@link Move} remains the type used at the
+ * UI and rule boundary; {@link #toMove(int)} converts on demand.
+ * </p>
+ */
+public final class PackedMove {
+    /** Value representing the absence of a move. */
+    public static final int NONE = 0;
+
+    private static final int JUMP_FLAG = 1 << 16;
+    private static final int HOPS_SHIFT = 17;
+    private static final int MAX_HOPS = 0x7F;
+
+    private PackedMove() {
+    }
+
+    /**
+     * Packs a move.
+     *
+     * @param from the source square
+     * @param to   the destination square
+     * @param hops 0 for a step, otherwise the number of hops in the chain
+     * @return the packed move
+     */
+    public static int encode(int from, int to, int hops) {
+        int packed = from | (to << 8);
+        if (hops > 0) packed |= JUMP_FLAG | (Math.min(hops, MAX_HOPS) << HOPS_SHIFT);
+        return packed;
+    }
+
+    /**
+     * Packs a {@link Move}. Moves between neighbouring squares are encoded as steps,
+     * all others as jumps of unknown length (one hop).
+     *
+     * @param move the move to pack
+     * @return the packed move
+     */
+    public static int of(Move move) {
+        int from = move.getStart().index();
+        int to = move.getEnd().index();
+        boolean step = BitBoard.test(BoardTables.NEIGHBOR_MASKS[from], to);
+        return encode(from, to, step ? 0 : 1);
+    }
+
+    public static int from(int move) {
+        return move & 0xFF;
+    }
+
+    public static int to(int move) {
+        return (move >>> 8) & 0xFF;
+    }
+
+    public static boolean isJump(int move) {
+        return (move & JUMP_FLAG) != 0;
+    }
+
+    public static int hops(int move) {
+        return (move >>> HOPS_SHIFT) & MAX_HOPS;
+    }
+
+    /**
+     * Returns the move without its jump flag and hop count, which identifies it
+     * uniquely within a position.
+     *
+     * @param move the packed move
+     * @return the source and destination bits only
+     */
+    public static int squares(int move) {
+        return move & 0xFFFF;
+    }
+
+    /**
+     * Converts a packed move into a {@link Move} with interned positions.
+     *
+     * @param move the packed move
+     * @return a new {@code Move} object
+     */
+    public static Move toMove(int move) {
+        return new Move(Position.ofSquare(from(move)), Position.ofSquare(to(move)));
+    }
+
+    /**
+     * Returns a compact description such as {@code (3,4)->(5,6) x2}.
+     *
+     * @param move the packed move
+     * @return a human-readable string
+     */
+    public static String toString(int move) {
+        if (move == NONE) return "none";
+        String text = Position.ofSquare(from(move)) + "->" + Position.ofSquare(to(move));
+        return isJump(move) ? text + " x" + hops(move) : text;
+    }
+}
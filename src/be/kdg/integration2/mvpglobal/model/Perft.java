@@ -0,0 +1,66 @@
+package be.kdg.integration2.mvpglobal.model;
+
+/**
+ * Performance test ("perft") for the move generator.
+ * <p>
+ * Walks the complete game tree to a fixed depth from a given position, with the
+ * two colors moving alternately, and counts the leaf positions. The count is a
+ * regression check for the generator; the timing gives its throughput in
+ * positions per second.
+ * </p>
+ *
+ * <p>Usage: {@code java be.kdg.integration2.mvpglobal.model.Perft [depth]}</p>
+ */
+public final class Perft {
+    private final Board board;
+    private final MoveList[] moveLists;
+
+    /**
+     * Prepares a perft run on the given board, allocating one move list per ply.
+     *
+     * @param board    the position to start from; it is restored after every run
+     * @param maxDepth the deepest depth that will be requested
+     */
+    public Perft(Board board, int maxDepth) {
+        this.board = board;
+        this.moveLists = new MoveList[maxDepth + 1];
+        for (int i = 0; i < moveLists.length; i++) {
+            moveLists[i] = new MoveList();
+        }
+    }
+
+    /**
+     * Counts the leaf positions of the game tree of the given depth.
+     *
+     * @param toMove the color moving first
+     * @param depth  the number of plies to expand
+     * @return the number of positions at {@code depth}
+     */
+    public long count(PieceColor toMove, int depth) {
+        if (depth == 0) return 1;
+        MoveList moves = moveLists[depth];
+        board.generateMoves(toMove, moves);
+        if (depth == 1) return moves.size();
+
+        PieceColor next = Board.opponent(toMove);
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.from(i), moves.to(i));
+            nodes += count(next, depth - 1);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    public static void main(String[] args) {
+        int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        Perft perft = new Perft(new Board(), maxDepth);
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            long start = System.nanoTime();
+            long nodes = perft.count(PieceColor.BLACK, depth);
+            double seconds = Math.max(System.nanoTime() - start, 1) / 1_000_000_000.0;
+            System.out.printf("perft(%d) = %d  %.3f s  %.0f positions/s%n",
+                    depth, nodes, seconds, nodes / seconds);
+        }
+    }
+}
@@ -47,11 +47,37 @@ public abstract class Player {
      * <p>
      * Implementations should examine the provided {@code board}
      * and return a valid {@link Move}, or {@code null} if no move
-     * can be made.
+     * can be made. The game may call this on a background thread and
+     * interrupt that thread when the move is no longer wanted; players
+     * that think for long should then return as soon as possible.
      * </p>
      *
      * @param board the current game board to evaluate
      * @return the chosen {@code Move}, or {@code null} if none available
      */
     public abstract Move getMove(Board board);
+
+    /**
+     * Lets this player think about its next move while the opponent is to move.
+     * Players that do not ponder ignore this.
+     *
+     * @param board the position after this player's own move; it is not modified
+     */
+    public void startPondering(Board board) {
+    }
+
+    /**
+     * Stops the thinking started by {@link #startPondering(Board)} and waits until it has ended.
+     */
+    public void stopPondering() {
+    }
+
+    /**
+     * Releases what this player holds for thinking, such as worker threads and
+     * open files, e.g. when the game is left. The player cannot move afterwards.
+     * Calling it more than once is harmless.
+     */
+    public void shutdown() {
+        stopPondering();
+    }
 }
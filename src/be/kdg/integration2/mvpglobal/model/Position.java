@@ -6,10 +6,21 @@ package be.kdg.integration2.mvpglobal.model;
  * Encapsulates a row and column index. Two {@code Position}
  * instances are equal if and only if both their row and column values match.
  * </p>
+ *
+ * <p>Positions are immutable. {@link #of(int, int)} hands out shared instances
+ * for the 256 on-board coordinates, so hot paths never allocate one.</p>
  */
 public class Position {
-    private int row;
-    private int col;
+    private static final Position[] INTERNED = new Position[Board.SIZE * Board.SIZE];
+
+    static {
+        for (int square = 0; square < INTERNED.length; square++) {
+            INTERNED[square] = new Position(square / Board.SIZE, square % Board.SIZE);
+        }
+    }
+
+    private final int row;
+    private final int col;
 
     /**
      * Constructs a Position with the specified row and column.
@@ -22,6 +33,44 @@ public class Position {
         this.col = col;
     }
 
+    /**
+     * Returns the position with the given row and column.
+     * <p>
+     * On-board coordinates come from a 256-entry table of shared instances;
+     * off-board coordinates get a new object.
+     * </p>
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return the matching Position
+     */
+    public static Position of(int row, int col) {
+        if (row >= 0 && row < Board.SIZE && col >= 0 && col < Board.SIZE) {
+            return INTERNED[row * Board.SIZE + col];
+        }
+        return new Position(row, col);
+    }
+
+    /**
+     * Returns the shared position for a square index.
+     *
+     * @param square the square index ({@code row * 16 + col})
+     * @return the matching Position
+     */
+    public static Position ofSquare(int square) {
+        return INTERNED[square];
+    }
+
+    /**
+     * Returns the packed square index of this position, {@code row * 16 + col}.
+     * Only meaningful for positions on the board.
+     *
+     * @return the square index
+     */
+    public int index() {
+        return row * Board.SIZE + col;
+    }
+
     /**
      * Returns the row index of this position.
      *
@@ -59,6 +108,17 @@ public class Position {
         return this.row == p.row && this.col == p.col;
     }
 
+    /**
+     * Returns a hash code consistent with {@link #equals(Object)}; for positions on
+     * the board it is the square index.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return row * Board.SIZE + col;
+    }
+
     /**
      * Returns a string representation of this position.
      *
@@ -0,0 +1,351 @@
+package be.kdg.integration2.mvpglobal.model;
+
+import be.kdg.integration2.mvpglobal.model.book.OpeningBook;
+import be.kdg.integration2.mvpglobal.model.search.DistanceEvaluator;
+import be.kdg.integration2.mvpglobal.model.search.EndgameSolver;
+import be.kdg.integration2.mvpglobal.model.search.Evaluator;
+import be.kdg.integration2.mvpglobal.model.search.HeapTranspositionTable;
+import be.kdg.integration2.mvpglobal.model.search.ParallelSearch;
+import be.kdg.integration2.mvpglobal.model.search.SearchEngine;
+import be.kdg.integration2.mvpglobal.model.search.SearchResult;
+import be.kdg.integration2.mvpglobal.model.search.TranspositionTable;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Computer player that looks ahead with an alpha-beta search.
+ * <p>
+ * Unlike the rule-based {@link AI}, which plays the first move its rules accept,
+ * this player searches the game tree and plays the move with the best evaluated
+ * outcome. It deepens its search one ply at a time within a fixed wall-clock
+ * budget per move, so it answers in predictable time on any hardware. The
+ * evaluation is pluggable through {@link Evaluator}. With more than one thread
+ * configured, the root moves are searched in parallel by a {@link ParallelSearch}.
+ * All threads share one {@link TranspositionTable}, which is kept from move to move.
+ * Every decision is reported on the console with the number of nodes searched,
+ * the speed, the depth reached and the hit rate of the table. Positions found in
+ * the {@link OpeningBook} are answered from the book without searching, and once
+ * only a few pieces are left outside the target camp, the {@link EndgameSolver}
+ * plays the shortest finish.
+ * </p>
+ *
+ * <p>With pondering enabled, the player keeps searching while the opponent
+ * thinks, on the position after the reply its last search expected. If the
+ * opponent plays that reply, the table already holds the search results and the
+ * time spent pondering is subtracted from the budget for the move.</p>
+ */
+public class SearchAI extends Player {
+    /** Shortest time budget per move that can be configured, in milliseconds. */
+    public static final long MIN_TIME_BUDGET_MILLIS = 50;
+    /** Longest time budget per move that can be configured, in milliseconds. */
+    public static final long MAX_TIME_BUDGET_MILLIS = 5_000;
+    /** Time budget per move used when none is given, in milliseconds. */
+    public static final long DEFAULT_TIME_BUDGET_MILLIS = 1_000;
+    /** Size of the transposition table used when none is given, in megabytes. */
+    public static final int DEFAULT_HASH_SIZE_MB = 64;
+
+    private final Supplier<Evaluator> evaluatorFactory;
+    private TranspositionTable table;
+    private SearchEngine engine;
+    private ParallelSearch parallelSearch;
+    private int threads = 1;
+    private long timeBudgetMillis;
+    private int maxDepth = SearchEngine.MAX_PLY;
+    private SearchResult lastResult;
+    private OpeningBook openingBook = OpeningBook.getDefault();
+    private EndgameSolver endgameSolver = new EndgameSolver();
+    private boolean pondering;
+    private Thread ponderThread;
+    private long ponderHash;
+    private long ponderStart;
+
+    /**
+     * Creates a search player with the default evaluation and time budget.
+     *
+     * @param name  the display name of the player
+     * @param color the color of pieces this player controls
+     */
+    public SearchAI(String name, PieceColor color) {
+        this(name, color, DistanceEvaluator::new, DEFAULT_TIME_BUDGET_MILLIS);
+    }
+
+    /**
+     * Creates a search player with the given evaluation and time budget.
+     *
+     * @param name             the display name of the player
+     * @param color            the color of pieces this player controls
+     * @param evaluatorFactory creates the evaluation used at the leaves of the search,
+     *                         once per search thread
+     * @param timeBudgetMillis the thinking time per move, in milliseconds
+     */
+    public SearchAI(String name, PieceColor color, Supplier<Evaluator> evaluatorFactory, long timeBudgetMillis) {
+        this(name, color, evaluatorFactory, timeBudgetMillis, new HeapTranspositionTable(DEFAULT_HASH_SIZE_MB));
+    }
+
+    /**
+     * Creates a search player with the default evaluation and time budget that uses
+     * the given table, e.g. an off-heap or persistent one.
+     *
+     * @param name  the display name of the player
+     * @param color the color of pieces this player controls
+     * @param table the transposition table; the player closes it on {@link #shutdown()}
+     */
+    public SearchAI(String name, PieceColor color, TranspositionTable table) {
+        this(name, color, DistanceEvaluator::new, DEFAULT_TIME_BUDGET_MILLIS, table);
+    }
+
+    /**
+     * Creates a search player with the given evaluation, time budget and table.
+     *
+     * @param name             the display name of the player
+     * @param color            the color of pieces this player controls
+     * @param evaluatorFactory creates the evaluation used at the leaves of the search,
+     *                         once per search thread
+     * @param timeBudgetMillis the thinking time per move, in milliseconds
+     * @param table            the transposition table; the player closes it on {@link #shutdown()}
+     */
+    public SearchAI(String name, PieceColor color, Supplier<Evaluator> evaluatorFactory, long timeBudgetMillis,
+                    TranspositionTable table) {
+        super(name, color);
+        this.evaluatorFactory = evaluatorFactory;
+        this.table = table;
+        this.engine = new SearchEngine(evaluatorFactory.get(), table);
+        this.timeBudgetMillis = clampTimeBudget(timeBudgetMillis);
+    }
+
+    /**
+     * Replaces the transposition table with an empty one of the given size.
+     *
+     * @param megabytes the size of the table, in megabytes
+     */
+    public void setHashSizeMb(int megabytes) {
+        setTranspositionTable(new HeapTranspositionTable(megabytes));
+    }
+
+    /**
+     * Replaces the transposition table, e.g. with an off-heap or persistent one.
+     * The replaced table is not closed; the new one is closed on {@link #shutdown()}.
+     *
+     * @param table the table to use from the next move on
+     */
+    public void setTranspositionTable(TranspositionTable table) {
+        stopPondering();
+        this.table = table;
+        engine = new SearchEngine(evaluatorFactory.get(), table);
+        if (parallelSearch != null) {
+            parallelSearch.shutdown();
+            parallelSearch = new ParallelSearch(threads, evaluatorFactory, table);
+        }
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return table;
+    }
+
+    /**
+     * Sets the number of threads used to search. With one thread the search runs
+     * on the caller's thread; with more, root moves are searched in parallel.
+     *
+     * @param threads the number of search threads (at least 1)
+     */
+    public void setThreads(int threads) {
+        threads = Math.max(1, threads);
+        if (threads == this.threads) return;
+        stopPondering();
+        if (parallelSearch != null) {
+            parallelSearch.shutdown();
+            parallelSearch = null;
+        }
+        this.threads = threads;
+        if (threads > 1) parallelSearch = new ParallelSearch(threads, evaluatorFactory, table);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Stops pondering, shuts down the parallel search threads and closes the
+     * transposition table if it holds a file, which flushes it to disk.
+     */
+    @Override
+    public void shutdown() {
+        stopPondering();
+        if (parallelSearch != null) {
+            parallelSearch.shutdown();
+            parallelSearch = null;
+        }
+        if (table instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) table).close();
+            } catch (Exception e) {
+                System.err.println("Cannot close transposition table: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sets the thinking time per move. Values outside
+     * [{@value #MIN_TIME_BUDGET_MILLIS}, {@value #MAX_TIME_BUDGET_MILLIS}] ms are clamped.
+     *
+     * @param timeBudgetMillis the thinking time per move, in milliseconds
+     */
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = clampTimeBudget(timeBudgetMillis);
+    }
+
+    private static long clampTimeBudget(long timeBudgetMillis) {
+        return Math.max(MIN_TIME_BUDGET_MILLIS, Math.min(timeBudgetMillis, MAX_TIME_BUDGET_MILLIS));
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    /**
+     * Limits the search depth, e.g. for a weaker or fully reproducible opponent.
+     *
+     * @param maxDepth the deepest iteration to run
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    public void setEndgameSolver(EndgameSolver endgameSolver) {
+        this.endgameSolver = endgameSolver;
+    }
+
+    /**
+     * Enables or disables searching while the opponent is to move.
+     *
+     * @param pondering {@code true} to ponder from the next {@link #startPondering(Board)} on
+     */
+    public void setPondering(boolean pondering) {
+        this.pondering = pondering;
+        if (!pondering) stopPondering();
+    }
+
+    public boolean isPondering() {
+        return pondering;
+    }
+
+    /**
+     * Starts searching the position after the opponent's expected reply, i.e. the
+     * second move of the last principal variation, on a background thread. Does
+     * nothing if pondering is disabled or no reply is expected.
+     *
+     * @param board the position after this player's last move; it is not modified
+     */
+    @Override
+    public synchronized void startPondering(Board board) {
+        stopPondering();
+        if (!pondering || lastResult == null) return;
+        int[] line = lastResult.getPrincipalVariation();
+        if (line.length < 2) return;
+        int from = PackedMove.from(line[1]);
+        int to = PackedMove.to(line[1]);
+        PieceColor opponent = Board.opponent(color);
+        if (board.getColorAt(from) != opponent || !board.isLegalMove(from, to)) return;
+
+        Board position = new Board(board);
+        position.setSideToMove(opponent);
+        position.makeMove(from, to);
+        ponderHash = position.hash();
+        ponderStart = System.nanoTime();
+        ponderThread = new Thread(() -> search(position, 0, Thread.currentThread()::isInterrupted),
+                "SearchAI ponder");
+        ponderThread.setDaemon(true);
+        ponderThread.start();
+    }
+
+    @Override
+    public synchronized void stopPondering() {
+        if (ponderThread == null) return;
+        ponderThread.interrupt();
+        try {
+            ponderThread.join();
+            ponderThread = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops pondering and reports how long it was useful.
+     *
+     * @return the time spent pondering on {@code board}, or 0 if the opponent
+     * played a different move or there was no pondering
+     */
+    private synchronized long finishPondering(Board board) {
+        if (ponderThread == null) return 0;
+        long hash = board.getSideToMove() == color ? board.hash() : board.hash() ^ Zobrist.sideKey();
+        long pondered = hash == ponderHash ? System.nanoTime() - ponderStart : 0;
+        stopPondering();
+        return pondered;
+    }
+
+    /**
+     * Searches the current position and returns the best move found.
+     * <p>
+     * The search runs on a copy of {@code board}, so the game board is never touched.
+     * Any pondering is stopped first. If the calling thread is interrupted, the
+     * search ends early and its move should be discarded.
+     * </p>
+     *
+     * @param board the current game board
+     * @return the best move, or {@code null} if this player cannot move
+     */
+    @Override
+    public Move getMove(Board board) {
+        long ponderedNanos = finishPondering(board);
+        if (Thread.currentThread().isInterrupted()) return null;
+
+        int bookMove = openingBook.findMove(board, color);
+        if (bookMove != PackedMove.NONE) {
+            lastResult = new SearchResult(bookMove, 0, 0, 0, 0, new int[]{bookMove});
+            System.out.println("SearchAI: book move " + PackedMove.toString(bookMove));
+            return PackedMove.toMove(bookMove);
+        }
+        if (endgameSolver.isApplicable(board, color)) {
+            int finish = endgameSolver.solve(board, color);
+            if (finish != PackedMove.NONE) {
+                lastResult = new SearchResult(finish, 0, endgameSolver.getSolutionLength(),
+                        endgameSolver.getNodes(), 0, new int[]{finish});
+                System.out.println("SearchAI: endgame move " + PackedMove.toString(finish)
+                        + " (" + endgameSolver.getSolutionLength() + " moves to finish, "
+                        + endgameSolver.getNodes() + " nodes)");
+                return PackedMove.toMove(finish);
+            }
+        }
+
+        Board position = new Board(board);
+        position.setSideToMove(color);
+        long budgetNanos = Math.max(MIN_TIME_BUDGET_MILLIS * 1_000_000L, timeBudgetMillis * 1_000_000L - ponderedNanos);
+        lastResult = search(position, budgetNanos, Thread.currentThread()::isInterrupted);
+        System.out.println("SearchAI (" + threads + " thread" + (threads == 1 ? "" : "s") + "): " + lastResult
+                + (ponderedNanos > 0 ? ", ponder hit after " + ponderedNanos / 1_000_000 + " ms" : ""));
+        System.out.println("  hash: " + table);
+        if (lastResult.getBestMove() == PackedMove.NONE) return null;
+        return PackedMove.toMove(lastResult.getBestMove());
+    }
+
+    private SearchResult search(Board position, long budgetNanos, BooleanSupplier stopCondition) {
+        return parallelSearch != null
+                ? parallelSearch.search(position, maxDepth, budgetNanos, stopCondition)
+                : engine.search(position, maxDepth, budgetNanos, stopCondition);
+    }
+
+    /**
+     * Returns the statistics of the most recent decision.
+     *
+     * @return the last search result, or {@code null} before the first move
+     */
+    public SearchResult getLastResult() {
+        return lastResult;
+    }
+}
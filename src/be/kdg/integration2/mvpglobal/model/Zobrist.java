@@ -0,0 +1,86 @@
+package be.kdg.integration2.mvpglobal.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for hashing Halma positions into 64 bits.
+ * <p>
+ * Every (color, square) pair and the side to move get a random key; the hash of
+ * a position is the XOR of the keys of all occupied squares, plus the side key
+ * when WHITE is to move. Because XOR is its own inverse, {@link Board} updates
+ * the hash incrementally when a piece is placed, removed or moved.
+ * </p>
+ *
+ * <p>The keys come from a fixed seed, so hashes are identical across runs and can
+ * be stored in files.</p>
+ *
+ * <p>Running this class plays random games with hash verification switched on,
+ * which recomputes the hash from scratch after every update.
+ * Usage: {@code java be.kdg.integration2.mvpglobal.model.Zobrist [games] [seed]}</p>
+ */
+public final class Zobrist {
+    private static final long SEED = 0x48414C4D41L; // "HALMA"
+
+    private static final long[][] PIECE_KEYS = new long[PieceColor.values().length][BitBoard.SQUARES];
+    private static final long WHITE_TO_MOVE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (long[] keys : PIECE_KEYS) {
+            for (int square = 0; square < keys.length; square++) {
+                keys[square] = random.nextLong();
+            }
+        }
+        WHITE_TO_MOVE = random.nextLong();
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a piece of the given color on the given square.
+     *
+     * @param color  the piece color
+     * @param square the square index
+     * @return the 64-bit key
+     */
+    public static long pieceKey(PieceColor color, int square) {
+        return PIECE_KEYS[color.ordinal()][square];
+    }
+
+    /**
+     * Returns the key that is XORed in when WHITE is to move.
+     *
+     * @return the side-to-move key
+     */
+    public static long sideKey() {
+        return WHITE_TO_MOVE;
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        Board.setHashVerification(true);
+        SplittableRandom random = new SplittableRandom(seed);
+        MoveList moves = new MoveList();
+        long updates = 0;
+        for (int game = 0; game < games; game++) {
+            Board board = new Board();
+            for (int ply = 0; ply < 400; ply++) {
+                board.generateMoves(board.getSideToMove(), moves);
+                if (moves.isEmpty()) break;
+                int i = random.nextInt(moves.size());
+                board.movePiece(moves.from(i), moves.to(i));
+                updates++;
+                if (random.nextInt(8) == 0) {
+                    // take the move back, then replay it, to exercise both directions
+                    board.movePiece(moves.to(i), moves.from(i));
+                    board.movePiece(moves.from(i), moves.to(i));
+                    updates += 2;
+                }
+            }
+        }
+        System.out.println("Zobrist verification passed: " + games + " games, "
+                + updates + " incremental updates, seed " + seed);
+    }
+}
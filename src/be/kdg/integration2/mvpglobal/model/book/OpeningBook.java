@@ -0,0 +1,153 @@
+package be.kdg.integration2.mvpglobal.model.book;
+
+import be.kdg.integration2.mvpglobal.model.Board;
+import be.kdg.integration2.mvpglobal.model.PackedMove;
+import be.kdg.integration2.mvpglobal.model.PieceColor;
+import be.kdg.integration2.mvpglobal.model.Zobrist;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only table of prepared opening moves, keyed by position hash.
+ * <p>
+ * The book file is a {@value #HEADER_BYTES}-byte header followed by fixed-size
+ * entries sorted by hash:
+ * </p>
+ * <ul>
+ *   <li>header: magic number, format version, number of entries (int, int, long)</li>
+ *   <li>entry: Zobrist hash (long), packed move (int), times the move was played (int)</li>
+ * </ul>
+ * <p>
+ * The file is memory-mapped and searched in place with a binary search, so
+ * opening it costs nothing beyond checking the header. A missing file gives an
+ * empty book. Zobrist keys are fixed, so a book stays valid for as long as the
+ * rules and the hashing scheme do not change. Files are written by
+ * {@link OpeningBookBuilder}.
+ * </p>
+ */
+public class OpeningBook {
+    /** Where the game looks for its book, relative to the working directory. */
+    public static final Path DEFAULT_PATH = Path.of("resources", "book", "opening.book");
+
+    static final int MAGIC = 0x48424F4B; // "HBOK"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int ENTRY_BYTES = 16;
+
+    private static final OpeningBook EMPTY = new OpeningBook(null, 0);
+
+    private final ByteBuffer entries;
+    private final long size;
+
+    private OpeningBook(ByteBuffer entries, long size) {
+        this.entries = entries;
+        this.size = size;
+    }
+
+    /**
+     * Returns the book at {@link #DEFAULT_PATH}, or at the path in the system
+     * property {@code halma.book}. It is opened on first use and shared afterwards.
+     *
+     * @return the default book; empty if the file is missing or unreadable
+     */
+    public static OpeningBook getDefault() {
+        return DefaultHolder.BOOK;
+    }
+
+    /**
+     * Opens a book file.
+     *
+     * @param file the book file
+     * @return the book, or an empty book if the file does not exist
+     * @throws IOException if the file exists but cannot be mapped or is not a book
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        if (!Files.exists(file)) return EMPTY;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException(file + " is not an opening book of version " + VERSION);
+            }
+            long size = buffer.getLong(8);
+            if (HEADER_BYTES + size * ENTRY_BYTES != buffer.capacity()) {
+                throw new IOException(file + " is truncated: expected " + size + " entries");
+            }
+            return new OpeningBook(buffer, size);
+        }
+    }
+
+    /**
+     * Returns an empty book.
+     *
+     * @return a book that knows no positions
+     */
+    public static OpeningBook empty() {
+        return EMPTY;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Looks up a position hash.
+     *
+     * @param hash the Zobrist hash of the position, including the side to move
+     * @return the book move as a {@link PackedMove}, or {@link PackedMove#NONE}
+     */
+    public int lookup(long hash) {
+        long low = 0;
+        long high = size - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            long key = entries.getLong(offset(mid));
+            if (key < hash) low = mid + 1;
+            else if (key > hash) high = mid - 1;
+            else return entries.getInt(offset(mid) + Long.BYTES);
+        }
+        return PackedMove.NONE;
+    }
+
+    /**
+     * Finds the book move for {@code color} in the given position, checking that it is legal.
+     *
+     * @param board the current position
+     * @param color the side about to move
+     * @return the book move, or {@link PackedMove#NONE} if the position is not in
+     * the book or the stored move does not fit the board
+     */
+    public int findMove(Board board, PieceColor color) {
+        if (size == 0) return PackedMove.NONE;
+        long hash = board.hash();
+        if (board.getSideToMove() != color) hash ^= Zobrist.sideKey();
+        int move = lookup(hash);
+        if (move == PackedMove.NONE) return PackedMove.NONE;
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        if (board.getColorAt(from) != color || !board.isLegalMove(from, to)) return PackedMove.NONE;
+        return move;
+    }
+
+    private static int offset(long index) {
+        return (int) (HEADER_BYTES + index * ENTRY_BYTES);
+    }
+
+    private static final class DefaultHolder {
+        static final OpeningBook BOOK = load();
+
+        private static OpeningBook load() {
+            Path file = Path.of(System.getProperty("halma.book", DEFAULT_PATH.toString()));
+            try {
+                return open(file);
+            } catch (IOException e) {
+                System.err.println("Opening book not loaded: " + e.getMessage());
+                return EMPTY;
+            }
+        }
+    }
+}
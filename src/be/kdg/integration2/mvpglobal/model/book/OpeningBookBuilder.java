@@ -0,0 +1,142 @@
+package be.kdg.integration2.mvpglobal.model.book;
+
+import be.kdg.integration2.mvpglobal.model.BitBoard;
+import be.kdg.integration2.mvpglobal.model.Board;
+import be.kdg.integration2.mvpglobal.model.MoveList;
+import be.kdg.integration2.mvpglobal.model.PackedMove;
+import be.kdg.integration2.mvpglobal.model.PieceColor;
+import be.kdg.integration2.mvpglobal.model.search.DistanceEvaluator;
+import be.kdg.integration2.mvpglobal.model.search.HeapTranspositionTable;
+import be.kdg.integration2.mvpglobal.model.search.SearchEngine;
+import be.kdg.integration2.mvpglobal.model.search.TranspositionTable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Builds an {@link OpeningBook} offline by letting the search play against itself.
+ * <p>
+ * Every game starts from the initial position. The first game is played by the
+ * search alone; later games open with a few random forward moves, so the book
+ * also covers positions off the main line. Every position the search moves in
+ * during the first plies is recorded with the move it chose. When a position was
+ * answered differently in different games, the most frequent answer is kept.
+ * </p>
+ *
+ * <p>Usage: {@code java be.kdg.integration2.mvpglobal.model.book.OpeningBookBuilder
+ * [output] [games] [plies] [depth]}</p>
+ */
+public final class OpeningBookBuilder {
+    private static final int RANDOM_PLIES = 2;
+    private static final int HASH_SIZE_MB = 32;
+
+    private final int plies;
+    private final int depth;
+    private final Random random;
+    private final SearchEngine engine;
+    private final TranspositionTable table = new HeapTranspositionTable(HASH_SIZE_MB);
+    private final MoveList moves = new MoveList();
+    // position hash -> (packed move -> times played)
+    private final Map<Long, Map<Integer, Integer>> positions = new HashMap<>();
+
+    /**
+     * Creates a builder.
+     *
+     * @param plies the number of plies recorded per game
+     * @param depth the search depth used to choose the moves
+     * @param seed  the seed for the random opening moves
+     */
+    public OpeningBookBuilder(int plies, int depth, long seed) {
+        this.plies = plies;
+        this.depth = depth;
+        this.random = new Random(seed);
+        this.engine = new SearchEngine(new DistanceEvaluator(), table);
+    }
+
+    /**
+     * Plays one self-play game and records its positions.
+     *
+     * @param randomPlies the number of random forward moves to open with
+     */
+    public void playGame(int randomPlies) {
+        table.clear();
+        Board board = new Board();
+        for (int ply = 0; ply < plies; ply++) {
+            PieceColor side = board.getSideToMove();
+            if (board.hasPlayerWon(Board.opponent(side))) return;
+            int move;
+            if (ply < randomPlies) {
+                move = randomForwardMove(board, side);
+            } else {
+                move = engine.search(board, depth).getBestMove();
+                if (move != PackedMove.NONE) {
+                    positions.computeIfAbsent(board.hash(), h -> new HashMap<>()).merge(move, 1, Integer::sum);
+                }
+            }
+            if (move == PackedMove.NONE) return;
+            board.movePiece(PackedMove.from(move), PackedMove.to(move));
+        }
+    }
+
+    private int randomForwardMove(Board board, PieceColor side) {
+        board.generateMoves(side, moves);
+        int forward = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int gain = BitBoard.row(moves.to(i)) + BitBoard.col(moves.to(i))
+                    - BitBoard.row(moves.from(i)) - BitBoard.col(moves.from(i));
+            if (side == PieceColor.WHITE) gain = -gain;
+            if (gain > 0) moves.swap(forward++, i);
+        }
+        if (forward == 0) forward = moves.size();
+        return forward == 0 ? PackedMove.NONE : moves.get(random.nextInt(forward));
+    }
+
+    /**
+     * Writes the recorded positions as a book file, sorted by hash.
+     *
+     * @param file the file to write
+     * @return the number of entries written
+     * @throws IOException if the file cannot be written
+     */
+    public long write(Path file) throws IOException {
+        long[] hashes = positions.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeInt(OpeningBook.VERSION);
+            out.writeLong(hashes.length);
+            for (long hash : hashes) {
+                Map.Entry<Integer, Integer> best = null;
+                for (Map.Entry<Integer, Integer> entry : positions.get(hash).entrySet()) {
+                    if (best == null || entry.getValue() > best.getValue()) best = entry;
+                }
+                out.writeLong(hash);
+                out.writeInt(best.getKey());
+                out.writeInt(best.getValue());
+            }
+        }
+        return hashes.length;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path output = args.length > 0 ? Path.of(args[0]) : OpeningBook.DEFAULT_PATH;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int plies = args.length > 2 ? Integer.parseInt(args[2]) : 24;
+        int depth = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+
+        long start = System.nanoTime();
+        OpeningBookBuilder builder = new OpeningBookBuilder(plies, depth, 0x424F4F4BL);
+        for (int game = 0; game < games; game++) {
+            builder.playGame(game == 0 ? 0 : RANDOM_PLIES);
+        }
+        long entries = builder.write(output);
+        System.out.printf("%d games, %d plies, depth %d: %d positions written to %s in %d s%n",
+                games, plies, depth, entries, output, (System.nanoTime() - start) / 1_000_000_000L);
+    }
+}
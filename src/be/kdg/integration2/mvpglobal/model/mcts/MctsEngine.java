@@ -0,0 +1,138 @@
+package be.kdg.integration2.mvpglobal.model.mcts;
+
+import be.kdg.integration2.mvpglobal.model.Board;
+import be.kdg.integration2.mvpglobal.model.MoveList;
+import be.kdg.integration2.mvpglobal.model.PackedMove;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Monte Carlo Tree Search with UCT selection and root parallelism.
+ * <p>
+ * Every thread grows an independent {@link MctsTree} from the same root position,
+ * so the threads share nothing while they search. When the time budget runs out,
+ * the visit counts of the root moves are summed over all trees and the most
+ * visited move is played.
+ * </p>
+ *
+ * <p>The node pools are allocated once, sized from a memory budget, and reused for
+ * every search. An {@code MctsEngine} runs one search at a time.</p>
+ */
+public class MctsEngine {
+    private final MctsTree[] trees;
+    private final ForkJoinPool pool;
+    private final MoveList rootMoves = new MoveList();
+
+    /**
+     * Creates an engine with its own pool of worker threads.
+     *
+     * @param threads     the number of trees searched in parallel (at least 1)
+     * @param memoryBytes the memory budget for all node pools together, in bytes
+     */
+    public MctsEngine(int threads, long memoryBytes) {
+        threads = Math.max(1, threads);
+        long nodesPerTree = memoryBytes / threads / MctsTree.BYTES_PER_NODE;
+        int capacity = (int) Math.min(nodesPerTree, Integer.MAX_VALUE - 8);
+        trees = new MctsTree[threads];
+        for (int i = 0; i < threads; i++) {
+            trees[i] = new MctsTree(capacity, 0x4D435453L + i);
+        }
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+    }
+
+    public int getThreads() {
+        return trees.length;
+    }
+
+    /**
+     * Searches the position for the side to move until the budget runs out.
+     *
+     * @param board           the position to search; it is not modified
+     * @param timeBudgetNanos the wall-clock budget
+     * @return the most visited root move with the search statistics
+     */
+    public MctsResult search(Board board, long timeBudgetNanos) {
+        return search(board, timeBudgetNanos, () -> false);
+    }
+
+    /**
+     * Searches the position until the budget runs out or {@code stopCondition}
+     * becomes true. The condition is polled by every worker, and an interrupt of
+     * the calling thread stops the workers as well.
+     *
+     * @param board           the position to search; it is not modified
+     * @param timeBudgetNanos the wall-clock budget
+     * @param stopCondition   polled during the search; the search ends once it returns {@code true}
+     * @return the most visited root move with the search statistics
+     */
+    public MctsResult search(Board board, long timeBudgetNanos, BooleanSupplier stopCondition) {
+        long start = System.nanoTime();
+        long deadline = start + timeBudgetNanos;
+        board.generateMoves(board.getSideToMove(), rootMoves);
+        if (rootMoves.isEmpty()) {
+            return new MctsResult(PackedMove.NONE, 0, 0.0, 0, System.nanoTime() - start, 0, 0, 0);
+        }
+
+        if (pool == null) {
+            trees[0].reset(board);
+            trees[0].run(deadline, stopCondition);
+        } else {
+            // workers cannot see an interrupt of the calling thread, so it is passed on through this flag
+            AtomicBoolean interrupted = new AtomicBoolean();
+            BooleanSupplier stopWorkers = () -> interrupted.get() || stopCondition.getAsBoolean();
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(trees.length);
+            for (MctsTree tree : trees) {
+                tasks.add(pool.submit(() -> {
+                    tree.reset(board);
+                    tree.run(deadline, stopWorkers);
+                }));
+            }
+            try {
+                for (var task : tasks) task.get();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+                tasks.forEach(ForkJoinTask::quietlyJoin);
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Monte Carlo search task failed", e.getCause());
+            }
+        }
+        return collect(System.nanoTime() - start);
+    }
+
+    private MctsResult collect(long nanos) {
+        long[] visits = new long[rootMoves.size()];
+        double[] reward = new double[rootMoves.size()];
+        long playouts = 0;
+        long nodes = 0;
+        long bytes = 0;
+        int recycles = 0;
+        for (MctsTree tree : trees) {
+            tree.addRootStatistics(rootMoves, visits, reward);
+            playouts += tree.getPlayouts();
+            nodes += tree.getSize();
+            bytes += (long) tree.getCapacity() * MctsTree.BYTES_PER_NODE;
+            recycles += tree.getRecycles();
+        }
+
+        int best = 0;
+        for (int i = 1; i < visits.length; i++) {
+            if (visits[i] > visits[best]) best = i;
+        }
+        double winRate = visits[best] == 0 ? 0.0 : reward[best] / visits[best];
+        return new MctsResult(rootMoves.get(best), visits[best], winRate, playouts, nanos, nodes, bytes, recycles);
+    }
+
+    /**
+     * Stops the worker threads. The engine cannot be used afterwards.
+     */
+    public void shutdown() {
+        if (pool != null) pool.shutdownNow();
+    }
+}
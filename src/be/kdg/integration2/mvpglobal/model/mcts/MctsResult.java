@@ -0,0 +1,91 @@
+package be.kdg.integration2.mvpglobal.model.mcts;
+
+import be.kdg.integration2.mvpglobal.model.PackedMove;
+
+/**
+ * Outcome of a Monte Carlo search: the chosen move, how often it was tried and
+ * how much work and memory the search used.
+ */
+public class MctsResult {
+    private final int bestMove;
+    private final long bestMoveVisits;
+    private final double winRate;
+    private final long playouts;
+    private final long nanos;
+    private final long treeNodes;
+    private final long treeBytes;
+    private final int recycles;
+
+    /**
+     * Creates a search result.
+     *
+     * @param bestMove       the most visited root move as a {@link PackedMove}, or {@link PackedMove#NONE}
+     * @param bestMoveVisits the visits of the best move, summed over all trees
+     * @param winRate        the average result of the best move for the side to move, between 0 and 1
+     * @param playouts       the number of playouts, summed over all trees
+     * @param nanos          the wall-clock time spent, in nanoseconds
+     * @param treeNodes      the number of nodes in use at the end of the search, summed over all trees
+     * @param treeBytes      the memory held by the node pools of all trees, in bytes
+     * @param recycles       how often a tree had to free nodes because its pool was full
+     */
+    public MctsResult(int bestMove, long bestMoveVisits, double winRate, long playouts, long nanos,
+                      long treeNodes, long treeBytes, int recycles) {
+        this.bestMove = bestMove;
+        this.bestMoveVisits = bestMoveVisits;
+        this.winRate = winRate;
+        this.playouts = playouts;
+        this.nanos = nanos;
+        this.treeNodes = treeNodes;
+        this.treeBytes = treeBytes;
+        this.recycles = recycles;
+    }
+
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    public long getBestMoveVisits() {
+        return bestMoveVisits;
+    }
+
+    public double getWinRate() {
+        return winRate;
+    }
+
+    public long getPlayouts() {
+        return playouts;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public long getTreeNodes() {
+        return treeNodes;
+    }
+
+    public long getTreeBytes() {
+        return treeBytes;
+    }
+
+    public int getRecycles() {
+        return recycles;
+    }
+
+    /**
+     * Returns the search speed.
+     *
+     * @return playouts per second
+     */
+    public long getPlayoutsPerSecond() {
+        return nanos == 0 ? 0 : playouts * 1_000_000_000L / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("move %s, %d visits, win rate %.3f, %d playouts, %d playouts/s, "
+                        + "%d nodes in %d KB, %d recycles, %d ms",
+                PackedMove.toString(bestMove), bestMoveVisits, winRate, playouts, getPlayoutsPerSecond(),
+                treeNodes, treeBytes / 1024, recycles, nanos / 1_000_000);
+    }
+}
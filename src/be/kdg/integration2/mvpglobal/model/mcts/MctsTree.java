@@ -0,0 +1,303 @@
+package be.kdg.integration2.mvpglobal.model.mcts;
+
+import be.kdg.integration2.mvpglobal.model.BitBoard;
+import be.kdg.integration2.mvpglobal.model.Board;
+import be.kdg.integration2.mvpglobal.model.MoveList;
+import be.kdg.integration2.mvpglobal.model.PackedMove;
+import be.kdg.integration2.mvpglobal.model.PieceColor;
+import be.kdg.integration2.mvpglobal.model.search.ProgressEvaluator;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A single Monte Carlo search tree, owned and grown by one thread.
+ * <p>
+ * Nodes live in a fixed-size pool of parallel primitive arrays, so a tree never
+ * allocates while it searches. The children of a node occupy one contiguous
+ * block. When the pool is nearly full, the tree is compacted in place: the
+ * subtrees below rarely visited nodes are dropped and those nodes become leaves
+ * again, which frees their slots for reuse. Memory use is therefore bounded by
+ * the capacity chosen at construction.
+ * </p>
+ *
+ * <p>Each iteration selects a leaf with UCT, expands it, runs a fast
+ * epsilon-greedy playout on the tree's own board copy with make/unmake, and
+ * backs the result up the path.</p>
+ */
+final class MctsTree {
+    /** Approximate memory per node: five int arrays, one double array and the compaction table. */
+    static final int BYTES_PER_NODE = 6 * Integer.BYTES + Double.BYTES;
+    /** Smallest pool a tree is given, so that a few expansions always fit. */
+    static final int MIN_CAPACITY = 1 << 14;
+
+    private static final double EXPLORATION = 1.4;
+    private static final int PLAYOUT_PLIES = 48;
+    private static final int GREEDY_SAMPLES = 8;
+    private static final double RANDOM_MOVE_RATE = 0.1;
+    // converts an evaluation difference into a win probability for unfinished playouts
+    private static final double EVALUATION_SCALE = 24.0;
+    // free slots kept available so that any expansion fits
+    private static final int EXPANSION_RESERVE = 2048;
+
+    private final int capacity;
+    private final int[] parent;
+    private final int[] move;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] visits;
+    private final double[] reward; // summed results for the player who moved into the node
+    private final int[] remap;
+    private int size;
+
+    private final MoveList moves = new MoveList();
+    private final ProgressEvaluator evaluator = new ProgressEvaluator();
+    private final SplittableRandom random;
+    private Board board;
+    private long playouts;
+    private int recycles;
+
+    /**
+     * Creates a tree with a fixed node pool.
+     *
+     * @param capacity the maximum number of nodes
+     * @param seed     the seed for playout and expansion randomness
+     */
+    MctsTree(int capacity, long seed) {
+        this.capacity = Math.max(capacity, MIN_CAPACITY);
+        parent = new int[this.capacity];
+        move = new int[this.capacity];
+        firstChild = new int[this.capacity];
+        childCount = new int[this.capacity];
+        visits = new int[this.capacity];
+        reward = new double[this.capacity];
+        remap = new int[this.capacity];
+        random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Discards the previous tree and starts a new one at the given position.
+     * The node pool is reused.
+     *
+     * @param root the position to search
+     */
+    void reset(Board root) {
+        board = new Board(root);
+        size = 1;
+        parent[0] = -1;
+        move[0] = PackedMove.NONE;
+        firstChild[0] = -1;
+        childCount[0] = 0;
+        visits[0] = 0;
+        reward[0] = 0.0;
+        playouts = 0;
+        recycles = 0;
+    }
+
+    /**
+     * Runs iterations until the deadline passes or the search is stopped.
+     *
+     * @param deadlineNanos the {@link System#nanoTime()} at which to stop
+     * @param stopCondition polled with the clock; the search stops once it returns {@code true}
+     */
+    void run(long deadlineNanos, BooleanSupplier stopCondition) {
+        do {
+            for (int i = 0; i < 32; i++) iterate();
+        } while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()
+                && !stopCondition.getAsBoolean());
+    }
+
+    private void iterate() {
+        if (size + EXPANSION_RESERVE > capacity) recycle();
+
+        int node = 0;
+        while (childCount[node] > 0) {
+            node = selectChild(node);
+            board.makeMove(PackedMove.from(move[node]), PackedMove.to(move[node]));
+        }
+
+        double blackResult;
+        PieceColor side = board.getSideToMove();
+        if (board.hasPlayerWon(Board.opponent(side))) {
+            blackResult = side == PieceColor.WHITE ? 1.0 : 0.0;
+        } else {
+            if ((visits[node] > 0 || node == 0) && expand(node)) {
+                node = firstChild[node] + random.nextInt(childCount[node]);
+                board.makeMove(PackedMove.from(move[node]), PackedMove.to(move[node]));
+            }
+            blackResult = playout();
+        }
+
+        // back up: each node scores the result for the player who moved into it,
+        // who is the side to move again once that move is taken back
+        for (int n = node; n > 0; n = parent[n]) {
+            board.unmakeMove();
+            visits[n]++;
+            reward[n] += board.getSideToMove() == PieceColor.BLACK ? blackResult : 1.0 - blackResult;
+        }
+        visits[0]++;
+        playouts++;
+    }
+
+    private int selectChild(int node) {
+        double logVisits = Math.log(Math.max(visits[node], 1));
+        int best = firstChild[node];
+        double bestValue = Double.NEGATIVE_INFINITY;
+        int end = firstChild[node] + childCount[node];
+        for (int child = firstChild[node]; child < end; child++) {
+            if (visits[child] == 0) return child;
+            double value = reward[child] / visits[child]
+                    + EXPLORATION * Math.sqrt(logVisits / visits[child]);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    private boolean expand(int node) {
+        board.generateMoves(board.getSideToMove(), moves);
+        if (moves.isEmpty() || size + moves.size() > capacity) return false;
+        firstChild[node] = size;
+        childCount[node] = moves.size();
+        for (int i = 0; i < moves.size(); i++) {
+            parent[size] = node;
+            move[size] = moves.get(i);
+            firstChild[size] = -1;
+            childCount[size] = 0;
+            visits[size] = 0;
+            reward[size] = 0.0;
+            size++;
+        }
+        return true;
+    }
+
+    /**
+     * Plays a bounded epsilon-greedy game from the current position and takes it back.
+     *
+     * @return the result for BLACK: 1 for a win, 0 for a loss, otherwise the
+     * evaluation of the final position squashed into (0, 1)
+     */
+    private double playout() {
+        int plies = 0;
+        double blackResult = -1.0;
+        while (plies < PLAYOUT_PLIES) {
+            PieceColor side = board.getSideToMove();
+            if (board.hasPlayerWon(Board.opponent(side))) {
+                blackResult = side == PieceColor.WHITE ? 1.0 : 0.0;
+                break;
+            }
+            board.generateMoves(side, moves);
+            if (moves.isEmpty()) break;
+            int chosen = chooseGreedy(side);
+            board.makeMove(moves.from(chosen), moves.to(chosen));
+            plies++;
+        }
+        if (blackResult < 0) {
+            int score = evaluator.evaluate(board, PieceColor.BLACK);
+            blackResult = 1.0 / (1.0 + Math.exp(-score / EVALUATION_SCALE));
+        }
+        for (int i = 0; i < plies; i++) board.unmakeMove();
+        return blackResult;
+    }
+
+    private int chooseGreedy(PieceColor side) {
+        if (random.nextDouble() < RANDOM_MOVE_RATE) return random.nextInt(moves.size());
+        int best = 0;
+        int bestGain = Integer.MIN_VALUE;
+        for (int s = 0; s < GREEDY_SAMPLES; s++) {
+            int i = random.nextInt(moves.size());
+            int from = moves.from(i);
+            int to = moves.to(i);
+            int gain = BitBoard.row(to) + BitBoard.col(to) - BitBoard.row(from) - BitBoard.col(from);
+            if (side == PieceColor.WHITE) gain = -gain;
+            if (gain > bestGain) {
+                bestGain = gain;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Frees node slots by collapsing rarely visited subtrees, doubling the visit
+     * threshold until at most half of the pool is in use.
+     */
+    private void recycle() {
+        int threshold = 2;
+        while (size > capacity / 2 && threshold <= Math.max(visits[0], 2)) {
+            compact(threshold);
+            threshold *= 2;
+        }
+        recycles++;
+    }
+
+    /**
+     * Drops the children of every node with fewer than {@code threshold} visits and
+     * renumbers the remaining nodes in place. Children always have higher indices
+     * than their parent, so a single ascending pass can move every node down safely.
+     */
+    private void compact(int threshold) {
+        Arrays.fill(remap, 0, size, -1);
+        remap[0] = 0;
+        for (int i = 0; i < size; i++) {
+            if (remap[i] < 0 || firstChild[i] < 0) continue;
+            if (visits[i] >= threshold) {
+                for (int c = firstChild[i]; c < firstChild[i] + childCount[i]; c++) remap[c] = 0;
+            } else {
+                firstChild[i] = -1;
+                childCount[i] = 0;
+            }
+        }
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            if (remap[i] >= 0) remap[i] = next++;
+        }
+        for (int i = 0; i < size; i++) {
+            int n = remap[i];
+            if (n < 0) continue;
+            parent[n] = i == 0 ? -1 : remap[parent[i]];
+            firstChild[n] = firstChild[i] >= 0 ? remap[firstChild[i]] : -1;
+            childCount[n] = childCount[i];
+            move[n] = move[i];
+            visits[n] = visits[i];
+            reward[n] = reward[i];
+        }
+        size = next;
+    }
+
+    /**
+     * Adds this tree's root statistics to the per-move totals.
+     *
+     * @param rootMoves   the root moves, in generation order
+     * @param totalVisits visit totals, indexed like {@code rootMoves}
+     * @param totalReward reward totals, indexed like {@code rootMoves}
+     */
+    void addRootStatistics(MoveList rootMoves, long[] totalVisits, double[] totalReward) {
+        int end = firstChild[0] + childCount[0];
+        for (int child = firstChild[0]; child >= 0 && child < end; child++) {
+            int index = rootMoves.indexOf(move[child]);
+            if (index < 0) continue;
+            totalVisits[index] += visits[child];
+            totalReward[index] += reward[child];
+        }
+    }
+
+    long getPlayouts() {
+        return playouts;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    int getRecycles() {
+        return recycles;
+    }
+}
@@ -2,12 +2,22 @@ package be.kdg.integration2.mvpglobal.model.rulebasedsystem;
 
 import be.kdg.integration2.mvpglobal.model.*;
 import be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts.FactsHandler;
+import be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts.PositionFacts;
 import be.kdg.integration2.mvpglobal.model.rulebasedsystem.rules.*;
 import java.util.ArrayList;
 import java.util.List;
 
 public class InferenceEngine {
+    /** Number of checked moves between two reorders in adaptive mode. */
+    private static final int REORDER_INTERVAL = 256;
+
     private final List<Rule> rules;
+    private final List<RuleStatistics> statistics = new ArrayList<>();
+    private final RuleOrdering ordering;
+    private boolean adaptiveOrdering;
+    // shared by all moves checked in the same position
+    private PositionFacts positionFacts;
+    private FactsHandler facts;
 
     public InferenceEngine() {
         this.rules = new ArrayList<>();
@@ -17,30 +27,69 @@ public class InferenceEngine {
         rules.add(new RuleEndMoveAI());
         rules.add(new RuleProgressToGoalAI());
 
+        for (Rule rule : rules) {
+            statistics.add(new RuleStatistics(rule.getClass().getSimpleName()));
+        }
+        ordering = new RuleOrdering(rules, statistics, RuleOrdering.Goal.FIRST_REJECT, REORDER_INTERVAL);
     }
 
-    public boolean isMoveAccepted(Board board, Move move, PieceColor color) {
-        FactsHandler facts = new FactsHandler();
+    /**
+     * Turns adaptive rule ordering on or off. A move is only accepted if every rule
+     * accepts it, so when on, cheap rules that often reject are tried first; rules
+     * that depend on each other keep their order, see {@link RuleOrdering}. Whether
+     * a move is accepted does not change, but when several rules would reject it,
+     * {@link #getFailedRule} may report a different one.
+     *
+     * @param adaptiveOrdering true to reorder the rules from their statistics
+     */
+    public void setAdaptiveOrdering(boolean adaptiveOrdering) {
+        this.adaptiveOrdering = adaptiveOrdering;
+        ordering.reset();
+    }
 
-        for (Rule rule : rules) {
-            if (!rule.actionRule(facts, board, move)) {
-                return false; // one rule failed
-            }
-        }
+    public boolean isAdaptiveOrdering() {
+        return adaptiveOrdering;
+    }
 
-        return true; // all rules passed
+    public boolean isMoveAccepted(Board board, Move move, PieceColor color) {
+        return getFailedRule(board, move, color) == null; // all rules passed
     }
 
     public Rule getFailedRule(Board board, Move move, PieceColor color) {
-        FactsHandler facts = new FactsHandler();
+        if (positionFacts == null || !positionFacts.matches(board, color)) {
+            positionFacts = new PositionFacts(board, color);
+            facts = new FactsHandler(positionFacts, move);
+        }
+        facts.startMove(move);
 
-        for (Rule rule : rules) {
-            if (!rule.actionRule(facts, board, move)) {
-                return rule; // return the first rule that fails
+        if (adaptiveOrdering) ordering.evaluated();
+        for (int i : ordering.order()) {
+            if (!fireActionRule(i, facts, board, move)) {
+                return rules.get(i); // return the first rule that fails
             }
         }
 
         return null;
     }
+
+    private boolean fireActionRule(int index, FactsHandler facts, Board board, Move move) {
+        long start = System.nanoTime();
+        boolean accepted = rules.get(index).actionRule(facts, board, move);
+        statistics.get(index).recordAction(accepted, System.nanoTime() - start);
+        return accepted;
+    }
+
+    /**
+     * Reads the statistics of every rule, in priority order.
+     *
+     * @return one snapshot per rule
+     */
+    public List<RuleStatistics.Snapshot> getStatistics() {
+        List<RuleStatistics.Snapshot> snapshots = new ArrayList<>(statistics.size());
+        for (RuleStatistics ruleStatistics : statistics) {
+            snapshots.add(ruleStatistics.snapshot());
+        }
+        return snapshots;
+    }
 }
 
@@ -0,0 +1,116 @@
+package be.kdg.integration2.mvpglobal.model.rulebasedsystem;
+
+import be.kdg.integration2.mvpglobal.model.Move;
+import be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts.FactValues;
+
+import java.util.List;
+
+/**
+ * Outcome of evaluating the candidate moves with a {@link RuleNetwork}: the chosen
+ * move, the rule that accepted it and every rule action fired on the way.
+ */
+public class RuleDecision {
+    private final Move move;
+    private final int rule;
+    private final List<Firing> trace;
+    private final int conditionChecks;
+
+    /**
+     * Creates a decision.
+     *
+     * @param move            the chosen move, or {@code null} if no rule accepted any move
+     * @param rule            the index of the rule that accepted the move, or -1
+     * @param trace           the rule actions fired, in order
+     * @param conditionChecks the number of rule conditions evaluated
+     */
+    public RuleDecision(Move move, int rule, List<Firing> trace, int conditionChecks) {
+        this.move = move;
+        this.rule = rule;
+        this.trace = List.copyOf(trace);
+        this.conditionChecks = conditionChecks;
+    }
+
+    public Move getMove() {
+        return move;
+    }
+
+    public int getRule() {
+        return rule;
+    }
+
+    public List<Firing> getTrace() {
+        return trace;
+    }
+
+    public int getConditionChecks() {
+        return conditionChecks;
+    }
+
+    @Override
+    public String toString() {
+        return move == null
+                ? "no move accepted after " + trace.size() + " firings"
+                : move + " via rule " + rule + " after " + trace.size() + " firings, "
+                + conditionChecks + " condition checks";
+    }
+
+    /**
+     * One rule action fired for one candidate move.
+     */
+    public static final class Firing {
+        private final Move move;
+        private final int rule;
+        private final String ruleName;
+        private final boolean accepted;
+        private final int factsAfter;
+
+        /**
+         * Creates a firing.
+         *
+         * @param move       the candidate move
+         * @param rule       the index of the rule whose action was fired
+         * @param ruleName   the name of that rule
+         * @param accepted   whether the action accepted the move
+         * @param factsAfter the facts after the action, as a bitmask over {@link FactValues}
+         */
+        public Firing(Move move, int rule, String ruleName, boolean accepted, int factsAfter) {
+            this.move = move;
+            this.rule = rule;
+            this.ruleName = ruleName;
+            this.accepted = accepted;
+            this.factsAfter = factsAfter;
+        }
+
+        public Move getMove() {
+            return move;
+        }
+
+        public int getRule() {
+            return rule;
+        }
+
+        public String getRuleName() {
+            return ruleName;
+        }
+
+        public boolean isAccepted() {
+            return accepted;
+        }
+
+        public int getFactsAfter() {
+            return factsAfter;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder facts = new StringBuilder();
+            for (FactValues fact : FactValues.values()) {
+                if ((factsAfter & (1 << fact.ordinal())) != 0) {
+                    if (facts.length() > 0) facts.append(", ");
+                    facts.append(fact);
+                }
+            }
+            return ruleName + (accepted ? " accepted " : " rejected ") + move + " [" + facts + "]";
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package be.kdg.integration2.mvpglobal.model.rulebasedsystem;
+
+import be.kdg.integration2.mvpglobal.model.Board;
+import be.kdg.integration2.mvpglobal.model.Move;
+import be.kdg.integration2.mvpglobal.model.PieceColor;
+import be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts.FactValues;
+import be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts.FactsHandler;
+import be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts.PositionFacts;
+import be.kdg.integration2.mvpglobal.model.rulebasedsystem.rules.RulesHandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The rules of a {@link RulesHandler}, compiled into a network that decides on all
+ * candidate moves of a position in one pass.
+ * <p>
+ * Rule conditions only look at the facts observed so far, so whether a rule is
+ * active depends on the set of facts alone, not on the move being considered.
+ * The network therefore keeps, per position, one agenda for every set of facts
+ * that occurs: the rules whose condition holds, in evaluation order.
+ * An agenda is built the first time its set of facts is seen and shared by all
+ * candidate moves, so every condition is evaluated at most once per set of facts
+ * per position instead of once per move and rule. For every move, only the
+ * actions of the rules on the agenda are fired; rules whose condition does not
+ * hold cost nothing. The facts of the position itself are derived once into a
+ * {@link PositionFacts} and a single {@link FactsHandler} is reused for all
+ * moves, so no facts are allocated per move.
+ * </p>
+ *
+ * <p>The outcome is the same as trying the rules in order on every move: when an
+ * action adds facts, evaluation continues with the next rule on the agenda of the
+ * new set of facts. The first move accepted by a rule action wins, and every
+ * action fired up to that point is recorded in the {@link RuleDecision}.</p>
+ *
+ * <p>The evaluation order is the priority order, unless the handler uses
+ * {@linkplain RulesHandler#setAdaptiveOrdering adaptive ordering}. It is fixed
+ * for the duration of one decision.</p>
+ */
+public class RuleNetwork {
+    private static final int FACT_SETS = 1 << FactValues.values().length;
+
+    private final RulesHandler rules;
+    private final String[] ruleNames;
+    // fact bitmask -> positions in the evaluation order of the rules whose condition holds, or null if not built yet
+    private final int[][] agendas = new int[FACT_SETS][];
+    private int[] order;
+    private PositionFacts positionFacts;
+    private int conditionChecks;
+
+    /**
+     * Compiles the rules of the given handler.
+     *
+     * @param rules the rules in priority order
+     */
+    public RuleNetwork(RulesHandler rules) {
+        this.rules = rules;
+        this.ruleNames = new String[rules.numberOfRules()];
+        for (int i = 0; i < ruleNames.length; i++) {
+            ruleNames[i] = rules.getRule(i).getClass().getSimpleName();
+        }
+    }
+
+    /**
+     * Evaluates the candidate moves in order and returns the first one a rule accepts.
+     *
+     * @param board      the current position
+     * @param color      the side to move
+     * @param candidates the moves to consider, in order of preference
+     * @return the decision with the firing trace; its move is {@code null} if no rule accepted any move
+     */
+    public RuleDecision decide(Board board, PieceColor color, List<Move> candidates) {
+        Arrays.fill(agendas, null);
+        order = rules.evaluationOrder();
+        conditionChecks = 0;
+        List<RuleDecision.Firing> trace = new ArrayList<>();
+        if (positionFacts == null || !positionFacts.matches(board, color)) {
+            positionFacts = new PositionFacts(board, color);
+        }
+        FactsHandler facts = new FactsHandler(positionFacts, null);
+
+        for (Move move : candidates) {
+            facts.startMove(move);
+            int mask = facts.factMask();
+            int next = 0;
+            int position;
+            while ((position = nextActiveRule(mask, next)) >= 0) {
+                int rule = order[position];
+                boolean accepted = rules.fireActionRule(rule, facts, board, move);
+                mask = facts.factMask();
+                trace.add(new RuleDecision.Firing(move, rule, ruleNames[rule], accepted, mask));
+                if (accepted) return new RuleDecision(move, rule, trace, conditionChecks);
+                next = position + 1;
+            }
+        }
+        return new RuleDecision(null, -1, trace, conditionChecks);
+    }
+
+    /**
+     * Returns the first position in the evaluation order from {@code from} on whose
+     * rule's condition holds for the given facts, building the agenda for those
+     * facts if needed.
+     *
+     * @return the position, or -1 if no further rule is active
+     */
+    private int nextActiveRule(int mask, int from) {
+        int[] agenda = agendas[mask];
+        if (agenda == null) {
+            agenda = buildAgenda(mask);
+            agendas[mask] = agenda;
+        }
+        for (int position : agenda) {
+            if (position >= from) return position;
+        }
+        return -1;
+    }
+
+    private int[] buildAgenda(int mask) {
+        FactsHandler facts = new FactsHandler(positionFacts, null);
+        for (FactValues fact : FactValues.values()) {
+            if ((mask & (1 << fact.ordinal())) != 0) {
+                facts.addFact(fact);
+            } else {
+                facts.removeFact(fact);
+            }
+        }
+        int[] agenda = new int[order.length];
+        int size = 0;
+        for (int position = 0; position < order.length; position++) {
+            conditionChecks++;
+            if (rules.checkConditionRule(order[position], facts)) agenda[size++] = position;
+        }
+        return Arrays.copyOf(agenda, size);
+    }
+}
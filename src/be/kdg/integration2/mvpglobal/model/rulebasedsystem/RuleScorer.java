@@ -0,0 +1,180 @@
+package be.kdg.integration2.mvpglobal.model.rulebasedsystem;
+
+import be.kdg.integration2.mvpglobal.model.Board;
+import be.kdg.integration2.mvpglobal.model.DistanceTables;
+import be.kdg.integration2.mvpglobal.model.Move;
+import be.kdg.integration2.mvpglobal.model.PieceColor;
+import be.kdg.integration2.mvpglobal.model.rulebasedsystem.rules.Rule;
+import be.kdg.integration2.mvpglobal.model.rulebasedsystem.rules.RulesHandler;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Scores all candidate moves of a position with the weights of every rule and picks the best.
+ * <p>
+ * Where a {@link RuleNetwork} plays the first move a rule accepts, which depends on
+ * the order in which moves are generated, the scorer lets every rule weigh every
+ * move through {@link Rule#weight}. A move's score is the sum of its weights and
+ * the move with the highest score is played. The weights are coarse, so equal
+ * scores are common; ties go to the move that gets its piece closest to the
+ * target camp, then to the piece that was farthest away, and any tie left is
+ * broken at random with a seeded generator, so the choice does not depend on
+ * the order in which moves are generated.
+ * The scores are computed rule by rule over a slice of the candidates at a time.
+ * Weighing has no side effects, so for large candidate sets the slices are scored
+ * in parallel on a {@link ForkJoinPool}.
+ * </p>
+ */
+public class RuleScorer {
+    /** Number of candidates from which the scoring is split over the pool by default. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 256;
+    /** Seed of the generator that breaks the ties left after the secondary keys, by default. */
+    public static final long DEFAULT_TIE_BREAK_SEED = 0x5EEDL;
+
+    private final RulesHandler rules;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    private Random tieBreak = new Random(DEFAULT_TIE_BREAK_SEED);
+
+    /**
+     * Creates a scorer that uses the common pool for large candidate sets.
+     *
+     * @param rules the rules whose weights are summed
+     */
+    public RuleScorer(RulesHandler rules) {
+        this(rules, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Creates a scorer.
+     *
+     * @param rules             the rules whose weights are summed
+     * @param pool              the pool used for large candidate sets
+     * @param parallelThreshold the number of candidates from which the pool is used
+     */
+    public RuleScorer(RulesHandler rules, ForkJoinPool pool, int parallelThreshold) {
+        this.rules = rules;
+        this.pool = pool;
+        this.parallelThreshold = Math.max(1, parallelThreshold);
+    }
+
+    /**
+     * Restarts the tie-break generator, e.g. to vary play between games.
+     *
+     * @param seed the seed
+     */
+    public void setTieBreakSeed(long seed) {
+        tieBreak = new Random(seed);
+    }
+
+    /**
+     * Scores every candidate move.
+     *
+     * @param board      the current position; it is only read
+     * @param color      the side to move
+     * @param candidates the moves to score
+     * @return the score of every candidate, by index
+     */
+    public int[] score(Board board, PieceColor color, List<Move> candidates) {
+        int[] scores = new int[candidates.size()];
+        ScoreTask task = new ScoreTask(board, color, candidates, scores, 0, scores.length);
+        if (scores.length >= parallelThreshold) {
+            pool.invoke(task);
+        } else {
+            task.compute();
+        }
+        return scores;
+    }
+
+    /**
+     * Scores every candidate move and returns the index of the best one.
+     *
+     * @param board      the current position; it is only read
+     * @param color      the side to move
+     * @param candidates the moves to score
+     * @return the index of the highest-scoring move, or -1 if there are no candidates
+     */
+    public int best(Board board, PieceColor color, List<Move> candidates) {
+        return choose(score(board, color, candidates), color, candidates);
+    }
+
+    /**
+     * Returns the index of the highest score. Equal scores are decided by the
+     * distance gained towards the target camp, then by the distance of the piece
+     * from the camp, and finally at random, each of the tied moves being equally likely.
+     *
+     * @param scores     the scores, by index
+     * @param color      the side to move
+     * @param candidates the scored moves
+     * @return the index of the chosen move, or -1 if there are no candidates
+     */
+    public int choose(int[] scores, PieceColor color, List<Move> candidates) {
+        int best = -1;
+        int ties = 0;
+        for (int i = 0; i < scores.length; i++) {
+            int order = best < 0 ? 1 : compare(scores, color, candidates, i, best);
+            if (order > 0) {
+                best = i;
+                ties = 1;
+            } else if (order == 0 && tieBreak.nextInt(++ties) == 0) {
+                best = i; // every tied move ends up chosen with probability 1/ties
+            }
+        }
+        return best;
+    }
+
+    private static int compare(int[] scores, PieceColor color, List<Move> candidates, int a, int b) {
+        if (scores[a] != scores[b]) return Integer.compare(scores[a], scores[b]);
+        Move moveA = candidates.get(a);
+        Move moveB = candidates.get(b);
+        int fromA = DistanceTables.distance(color, moveA.getStart().index());
+        int fromB = DistanceTables.distance(color, moveB.getStart().index());
+        int gainA = fromA - DistanceTables.distance(color, moveA.getEnd().index());
+        int gainB = fromB - DistanceTables.distance(color, moveB.getEnd().index());
+        if (gainA != gainB) return Integer.compare(gainA, gainB);
+        return Integer.compare(fromA, fromB);
+    }
+
+    /**
+     * Scores the candidates in [{@code from}, {@code to}), splitting the range in
+     * halves until it is small enough to score directly.
+     */
+    private final class ScoreTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int SLICE = 32;
+
+        // tasks are never serialized; the pool only requires RecursiveAction to be Serializable
+        private final transient Board board;
+        private final PieceColor color;
+        private final transient List<Move> candidates;
+        private final int[] scores;
+        private final int from;
+        private final int to;
+
+        ScoreTask(Board board, PieceColor color, List<Move> candidates, int[] scores, int from, int to) {
+            this.board = board;
+            this.color = color;
+            this.candidates = candidates;
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SLICE && to - from >= parallelThreshold / 2) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ScoreTask(board, color, candidates, scores, from, middle),
+                        new ScoreTask(board, color, candidates, scores, middle, to));
+                return;
+            }
+            // rule by rule, so each rule's weighing runs over the whole slice at once
+            for (int rule = 0; rule < rules.numberOfRules(); rule++) {
+                rules.weighRule(rule, board, color, candidates, scores, from, to);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package be.kdg.integration2.mvpglobal.model.rulebasedsystem;
+
+import be.kdg.integration2.mvpglobal.model.Board;
+import be.kdg.integration2.mvpglobal.model.Move;
+import be.kdg.integration2.mvpglobal.model.MoveList;
+import be.kdg.integration2.mvpglobal.model.PieceColor;
+import be.kdg.integration2.mvpglobal.model.rulebasedsystem.rules.RulesHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Compares the decisions per second of the first-fire {@link RuleNetwork} with
+ * batch scoring by {@link RuleScorer}, sequential and split over a fork-join pool.
+ * <p>
+ * The positions come from a game in which both sides play the move the scorer
+ * prefers, so the candidate sets range from the crowded opening to the sparse
+ * middle game. Every decision includes generating the candidate moves.
+ * </p>
+ *
+ * <p>Usage: {@code java be.kdg.integration2.mvpglobal.model.rulebasedsystem.RuleScoringBenchmark [seconds]}</p>
+ */
+public final class RuleScoringBenchmark {
+    private static final int POSITIONS = 64;
+
+    private RuleScoringBenchmark() {
+    }
+
+    private static List<Board> positions(RuleScorer scorer) {
+        List<Board> positions = new ArrayList<>(POSITIONS);
+        Board board = new Board();
+        for (int i = 0; i < POSITIONS; i++) {
+            positions.add(new Board(board));
+            PieceColor side = board.getSideToMove();
+            List<Move> moves = candidates(board, side, new MoveList());
+            int best = scorer.best(board, side, moves);
+            if (best < 0) break;
+            board.movePiece(moves.get(best).getStart(), moves.get(best).getEnd());
+        }
+        return positions;
+    }
+
+    private static List<Move> candidates(Board board, PieceColor side, MoveList moveList) {
+        board.generateMoves(side, moveList);
+        List<Move> moves = new ArrayList<>(moveList.size());
+        for (int i = 0; i < moveList.size(); i++) {
+            moves.add(moveList.toMove(i));
+        }
+        return moves;
+    }
+
+    /**
+     * Runs decisions over all positions for the given time.
+     *
+     * @return the number of decisions per second
+     */
+    private static double measure(List<Board> positions, long nanos, Function<Board, Move> decide) {
+        long decisions = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (Board board : positions) {
+                if (decide.apply(board) != null) decisions++;
+            }
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < nanos);
+        return decisions * 1e9 / elapsed;
+    }
+
+    public static void main(String[] args) {
+        long nanos = (args.length > 0 ? Long.parseLong(args[0]) : 2) * 1_000_000_000L;
+        RulesHandler rules = new RulesHandler();
+        RuleNetwork network = new RuleNetwork(rules);
+        RuleScorer sequential = new RuleScorer(rules, ForkJoinPool.commonPool(), Integer.MAX_VALUE);
+        RuleScorer parallel = new RuleScorer(rules, ForkJoinPool.commonPool(), 1);
+        List<Board> positions = positions(sequential);
+        MoveList moveList = new MoveList();
+
+        Function<Board, Move> firstFire = board -> {
+            PieceColor side = board.getSideToMove();
+            return network.decide(board, side, candidates(board, side, moveList)).getMove();
+        };
+        Function<Board, Move> batch = board -> {
+            PieceColor side = board.getSideToMove();
+            List<Move> moves = candidates(board, side, moveList);
+            return moves.get(sequential.best(board, side, moves));
+        };
+        Function<Board, Move> forkJoin = board -> {
+            PieceColor side = board.getSideToMove();
+            List<Move> moves = candidates(board, side, moveList);
+            return moves.get(parallel.best(board, side, moves));
+        };
+
+        // warm up all three before measuring
+        measure(positions, nanos / 4, firstFire);
+        measure(positions, nanos / 4, batch);
+        measure(positions, nanos / 4, forkJoin);
+        double firstFireRate = measure(positions, nanos, firstFire);
+        double batchRate = measure(positions, nanos, batch);
+        double forkJoinRate = measure(positions, nanos, forkJoin);
+        System.out.printf("%d positions, %d pool threads%n", positions.size(), ForkJoinPool.commonPool().getParallelism());
+        System.out.printf("first-fire network : %10.0f decisions/s%n", firstFireRate);
+        System.out.printf("batch scoring      : %10.0f decisions/s (%.2fx)%n", batchRate, batchRate / firstFireRate);
+        System.out.printf("batch, fork-join   : %10.0f decisions/s (%.2fx)%n", forkJoinRate, forkJoinRate / firstFireRate);
+    }
+}
@@ -1,26 +1,58 @@
 package be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts;
 
-import java.util.ArrayList;
-import java.util.List;
 import be.kdg.integration2.mvpglobal.model.*;
 
-
+/**
+ * The facts observed while evaluating one move, stored as a bitmask over
+ * {@link FactValues}.
+ * <p>
+ * The facts of the position are shared through a {@link PositionFacts}; the facts
+ * added or removed for the move are kept in a small overlay on top of them, so
+ * a handler can be reused for the next candidate move with {@link #startMove}.
+ * </p>
+ */
 public class FactsHandler {
+    private static final int NO_FACTS = 0;
+    private static final int ALL_FACTS = -1;
 
-    private List<FactValues> facts = new ArrayList<>();
+    private PositionFacts position;
+    private int added;
+    private int removed;
     private boolean factsEvolved = false;
-    private Board board;
     private Move move;
-    private PieceColor color;
 
     public FactsHandler(Board board, Move move, PieceColor color) {
-        this.board = board;
+        this(new PositionFacts(board, color), move);
+    }
+
+    /**
+     * Creates the facts of a move on top of the shared facts of its position.
+     *
+     * @param position the facts of the position
+     * @param move     the move being evaluated, or {@code null}
+     */
+    public FactsHandler(PositionFacts position, Move move) {
+        this.position = position;
+        this.move = move;
+    }
+
+    public FactsHandler() {
+    }
+
+    /**
+     * Clears the facts of the previous move and starts on the next one in the same position.
+     *
+     * @param move the move to evaluate next
+     */
+    public void startMove(Move move) {
         this.move = move;
-        this.color = color;
+        added = NO_FACTS;
+        removed = NO_FACTS;
+        factsEvolved = false;
     }
 
     public Board getBoard() {
-        return board;
+        return position == null ? null : position.getBoard();
     }
 
     public Move getMove() {
@@ -28,31 +60,45 @@ public class FactsHandler {
     }
 
     public PieceColor getColor() {
-        return color;
-    }
-    public FactsHandler() {
+        return position == null ? null : position.getColor();
     }
 
     public void addFact(FactValues fact) {
-        facts.add(fact);
+        int bit = 1 << fact.ordinal();
+        added |= bit;
+        removed &= ~bit;
         factsEvolved = true;
     }
 
     public void removeFact(FactValues fact) {
-        facts.remove(fact);
+        int bit = 1 << fact.ordinal();
+        removed |= bit;
+        added &= ~bit;
         factsEvolved = true;
     }
 
     public boolean factsObserved() {
-        return !facts.isEmpty();
+        return factMask() != NO_FACTS;
     }
 
     public boolean factAvailable(FactValues fact) {
-        return facts.contains(fact);
+        return (factMask() & (1 << fact.ordinal())) != 0;
+    }
+
+    /**
+     * Returns the facts currently observed as a bitmask with bit {@code fact.ordinal()}
+     * set for every fact present.
+     *
+     * @return the fact bitmask
+     */
+    public int factMask() {
+        int positionMask = position == null ? NO_FACTS : position.factMask();
+        return (positionMask & ~removed) | added;
     }
 
     public void resetFacts() {
-        facts.clear();
+        added = NO_FACTS;
+        removed = ALL_FACTS;
         factsEvolved = true;
     }
 
@@ -64,4 +110,3 @@ public class FactsHandler {
         factsEvolved = newValue;
     }
 }
-
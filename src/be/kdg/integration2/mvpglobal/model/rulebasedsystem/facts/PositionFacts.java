@@ -0,0 +1,72 @@
+package be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts;
+
+import be.kdg.integration2.mvpglobal.model.Board;
+import be.kdg.integration2.mvpglobal.model.PieceColor;
+
+/**
+ * The facts that depend on the position alone, derived once and shared by the
+ * {@link FactsHandler}s of all candidate moves in that position.
+ * <p>
+ * {@link FactValues#WINNINGPOSITION_AI} holds when the side to move has all its
+ * pieces in the target camp, {@link FactValues#WINNINGPOSITION_PLAYER} when its
+ * opponent has. All other facts are observed by rule actions on a single move.
+ * Both only hold once the game is over and no rule reads them yet, so for now the
+ * sharing mainly saves allocating facts per move; board-only facts that rules
+ * come to depend on belong here, where they are derived once per position.
+ * </p>
+ */
+public final class PositionFacts {
+    /** Bitmask of the facts derived from the position. */
+    public static final int POSITION_FACTS =
+            (1 << FactValues.WINNINGPOSITION_AI.ordinal()) | (1 << FactValues.WINNINGPOSITION_PLAYER.ordinal());
+
+    private final Board board;
+    private final PieceColor color;
+    private final long hash;
+    private final int factMask;
+
+    /**
+     * Derives the position-level facts.
+     *
+     * @param board the current position
+     * @param color the side to move
+     */
+    public PositionFacts(Board board, PieceColor color) {
+        this.board = board;
+        this.color = color;
+        this.hash = board.hash();
+        int mask = 0;
+        if (board.hasPlayerWon(color)) mask |= 1 << FactValues.WINNINGPOSITION_AI.ordinal();
+        if (board.hasPlayerWon(Board.opponent(color))) mask |= 1 << FactValues.WINNINGPOSITION_PLAYER.ordinal();
+        this.factMask = mask;
+    }
+
+    /**
+     * Checks whether these facts still describe the given board, so they can be reused.
+     *
+     * @param board the board
+     * @param color the side to move
+     * @return true if it is the same board, in the same position, with the same side deciding
+     */
+    public boolean matches(Board board, PieceColor color) {
+        return this.board == board && this.color == color && this.hash == board.hash();
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public PieceColor getColor() {
+        return color;
+    }
+
+    /**
+     * Returns the position-level facts as a bitmask with bit {@code fact.ordinal()}
+     * set for every fact that holds.
+     *
+     * @return the fact bitmask
+     */
+    public int factMask() {
+        return factMask;
+    }
+}
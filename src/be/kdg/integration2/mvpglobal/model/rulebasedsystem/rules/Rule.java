@@ -1,35 +1,103 @@
 package be.kdg.integration2.mvpglobal.model.rulebasedsystem.rules;
 
 import be.kdg.integration2.mvpglobal.model.*;
+import be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts.FactValues;
 import be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts.FactsHandler;
 
 public abstract class Rule {
+    /** Fact bitmask that stands for every fact. */
+    public static final int ALL_FACTS = -1;
+
+    /**
+     * Checks whether this rule is active. The condition may only depend on the
+     * facts and the position, not on the move, so that a
+     * {@link be.kdg.integration2.mvpglobal.model.rulebasedsystem.RuleNetwork}
+     * can share its outcome between all candidate moves.
+     *
+     * @param facts the facts observed so far
+     * @return true if the action of this rule should be fired
+     */
     public abstract boolean conditionRule(FactsHandler facts);
     public abstract boolean  actionRule(FactsHandler facts, Board board, Move move);// returns true if the new move was determined, returns false if only the facts have been modified
 
     /**
-     * Clones the given board to simulate a move without affecting the original board.
+     * Scores a candidate move for {@link be.kdg.integration2.mvpglobal.model.rulebasedsystem.RuleScorer}.
+     * Unlike {@link #actionRule}, this must not change the board or the rule's own
+     * state, so that all candidates can be scored in any order and on several
+     * threads at once.
      *
-     * @param original The original board to be cloned.
-     * @return A deep copy of the original board.
-     */
-        protected Board cloneBoard(Board original) {
-            Board clone = new Board();
-
-            for (int row = 0; row < Board.SIZE; row++) {
-                for (int col = 0; col < Board.SIZE; col++) {
-                    Position pos = new Position(row, col);
-                    Piece piece = original.getPieceAt(pos);
-                    if (piece != null) {
-                        clone.setPieceAt(pos, new Piece(piece.getColor()));
-                    } else {
-                        clone.setPieceAt(pos, null);
-                    }
-                }
-            }
-
-            return clone;
+     * @param board the current game board
+     * @param move  the candidate move
+     * @param color the side to move
+     * @return the weight this rule gives the move; 0 if the rule has no opinion
+     */
+    public int weight(Board board, Move move, PieceColor color) {
+        return 0;
+    }
+
+    /**
+     * Returns the facts this rule's condition and action read, as a bitmask with bit
+     * {@code fact.ordinal()} set per fact. Used by {@link RuleOrdering} to keep
+     * rules that depend on each other in their original order.
+     *
+     * @return the facts read; {@link #ALL_FACTS} unless the rule declares them
+     */
+    public int readFacts() {
+        return ALL_FACTS;
+    }
+
+    /**
+     * Returns the facts this rule's action may add or remove, as a bitmask.
+     *
+     * @return the facts written; {@link #ALL_FACTS} unless the rule declares them
+     */
+    public int writtenFacts() {
+        return ALL_FACTS;
+    }
+
+    /**
+     * Tells whether this rule's action changes anything besides the facts, such as
+     * state kept by the rule. Rules with side effects are never reordered.
+     *
+     * @return true unless the rule declares that it has no side effects
+     */
+    public boolean hasSideEffects() {
+        return true;
+    }
+
+    /**
+     * Builds a fact bitmask.
+     *
+     * @param facts the facts
+     * @return the bitmask with bit {@code fact.ordinal()} set for every given fact
+     */
+    protected static int factMask(FactValues... facts) {
+        int mask = 0;
+        for (FactValues fact : facts) {
+            mask |= 1 << fact.ordinal();
         }
+        return mask;
     }
 
+    /**
+     * Tells the rule which move was chosen after scoring, so it can update its own state.
+     *
+     * @param board the game board before the move
+     * @param move  the chosen move
+     */
+    public void moveChosen(Board board, Move move) {
+    }
 
+    /**
+     * Clones the given board to simulate a move without affecting the original board.
+     *
+     * @param original The original board to be cloned.
+     * @return A copy of the original board.
+     * @deprecated simulate on the original board with {@link Board#makeMove(int, int)}
+     * and {@link Board#unmakeMove()} instead, which does not allocate.
+     */
+    @Deprecated
+    protected Board cloneBoard(Board original) {
+        return new Board(original);
+    }
+}
@@ -13,6 +13,7 @@ import be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts.FactsHandler;
  * end in the goal area of the AI (white).
  */
 public class RuleEndMoveAI extends Rule {
+    private static final int ENTER_CAMP_WEIGHT = 100;
 
     /**
      * Checks if the rule condition is met. In this case, it always returns false
@@ -46,4 +47,34 @@ public class RuleEndMoveAI extends Rule {
         }
         return false;
     }
+
+    /**
+     * Rewards a move that brings a piece into the target camp of the side to move.
+     *
+     * @param board The current game board.
+     * @param move  The candidate move.
+     * @param color The side to move.
+     * @return a large weight if the move enters the target camp, 0 otherwise.
+     */
+    @Override
+    public int weight(Board board, Move move, PieceColor color) {
+        PieceColor home = Board.opponent(color);
+        boolean entersCamp = !Board.isInCamp(home, move.getStart().index()) && Board.isInCamp(home, move.getEnd().index());
+        return entersCamp ? ENTER_CAMP_WEIGHT : 0;
+    }
+
+    @Override
+    public int readFacts() {
+        return 0;
+    }
+
+    @Override
+    public int writtenFacts() {
+        return factMask(FactValues.ENDMOVE_AI);
+    }
+
+    @Override
+    public boolean hasSideEffects() {
+        return false;
+    }
 }
@@ -4,17 +4,21 @@ import be.kdg.integration2.mvpglobal.model.*;
 import be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts.FactValues;
 import be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts.FactsHandler;
 
-import java.util.LinkedList;
-import java.util.Queue;
-
 /**
  * Rule that ensures a good move is made, considering jump-over moves and recently used positions.
  * It gives priority to jump-over moves by checking the corresponding fact.
+ * <p>
+ * Every instance keeps its own {@link TabuMemory} of the positions reached and the
+ * squares a piece was moved to by its last moves, so games running side by side
+ * do not block each other's moves.
+ * </p>
  */
 public class RuleGoodMove extends Rule {
 
     private static final int BLOCKED_LIMIT = 5;
-    private static final Queue<Position> recentlyUsedPositions = new LinkedList<>();
+    private static final int RECENTLY_USED_WEIGHT = -30;
+    // two keys per move: the position reached and the piece on its new square
+    private final TabuMemory recentlyUsed = new TabuMemory(2 * BLOCKED_LIMIT);
 
     /**
      * Checks if the rule condition is met. It returns true if the JUMP_OVER fact is available,
@@ -50,16 +54,67 @@ public class RuleGoodMove extends Rule {
         if (!legal) return false;
 //        made it conditional so that below if block can be reached
 
-        if (recentlyUsedPositions.contains(end)) {
+        if (isRecentlyUsed(board, move)) {
             facts.addFact(FactValues.MOVE_BLOCKED);
             return false;
         }
 
-        recentlyUsedPositions.add(end);
-        if (recentlyUsedPositions.size() > BLOCKED_LIMIT) {
-            recentlyUsedPositions.poll();
-        }
-
+        remember(board, move);
         return true;
     }
+
+    /**
+     * Penalises a move that returns to a recently reached position or puts a piece back
+     * on a square it recently moved to, to avoid shuffling back and forth.
+     *
+     * @param board  The current game board.
+     * @param move   The candidate move.
+     * @param color  The side to move.
+     * @return a negative weight if the move was used recently, 0 otherwise.
+     */
+    @Override
+    public int weight(Board board, Move move, PieceColor color) {
+        return isRecentlyUsed(board, move) ? RECENTLY_USED_WEIGHT : 0;
+    }
+
+    @Override
+    public int readFacts() {
+        return factMask(FactValues.JUMP_OVER);
+    }
+
+    /**
+     * The action only adds {@link FactValues#MOVE_BLOCKED}, but it also remembers the
+     * squares of the moves it accepts, so it keeps the default of having side effects.
+     */
+    @Override
+    public int writtenFacts() {
+        return factMask(FactValues.MOVE_BLOCKED);
+    }
+
+    /**
+     * Remembers the chosen move as recently used.
+     *
+     * @param board  The game board before the move.
+     * @param move   The chosen move.
+     */
+    @Override
+    public void moveChosen(Board board, Move move) {
+        remember(board, move);
+    }
+
+    private boolean isRecentlyUsed(Board board, Move move) {
+        int from = move.getStart().index();
+        int to = move.getEnd().index();
+        PieceColor color = board.getColorAt(from);
+        return recentlyUsed.contains(board.hashAfter(from, to))
+                || color != null && recentlyUsed.contains(Zobrist.pieceKey(color, to));
+    }
+
+    private void remember(Board board, Move move) {
+        int from = move.getStart().index();
+        int to = move.getEnd().index();
+        PieceColor color = board.getColorAt(from);
+        recentlyUsed.remember(board.hashAfter(from, to));
+        if (color != null) recentlyUsed.remember(Zobrist.pieceKey(color, to));
+    }
 }
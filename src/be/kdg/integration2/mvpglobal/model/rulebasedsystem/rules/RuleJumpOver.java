@@ -9,6 +9,7 @@ import be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts.FactsHandler;
  * corresponding fact to the facts handler when the move is legal.
  */
 public class RuleJumpOver extends Rule {
+    private static final int JUMP_WEIGHT = 5;
 
     /**
      * Checks if the rule condition is met, which is the availability of the JUMP_OVER fact.
@@ -44,4 +45,35 @@ public class RuleJumpOver extends Rule {
 
         return false;
     }
+
+    /**
+     * Rewards jump moves, which cover more ground than single steps.
+     *
+     * @param board The current game board.
+     * @param move  The candidate move.
+     * @param color The side to move.
+     * @return a small weight if the move is a jump, 0 for a single step.
+     */
+    @Override
+    public int weight(Board board, Move move, PieceColor color) {
+        Position start = move.getStart();
+        Position end = move.getEnd();
+        boolean jump = Math.abs(end.getRow() - start.getRow()) > 1 || Math.abs(end.getCol() - start.getCol()) > 1;
+        return jump ? JUMP_WEIGHT : 0;
+    }
+
+    @Override
+    public int readFacts() {
+        return factMask(FactValues.JUMP_OVER);
+    }
+
+    @Override
+    public int writtenFacts() {
+        return factMask(FactValues.JUMP_OVER);
+    }
+
+    @Override
+    public boolean hasSideEffects() {
+        return false;
+    }
 }
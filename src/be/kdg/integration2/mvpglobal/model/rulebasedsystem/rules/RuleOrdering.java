@@ -0,0 +1,157 @@
+package be.kdg.integration2.mvpglobal.model.rulebasedsystem.rules;
+
+import java.util.List;
+
+/**
+ * Decides the order in which rules are evaluated, from running statistics of
+ * their cost and of how often they decide.
+ * <p>
+ * Evaluation stops at the first rule that decides: for a
+ * {@link RulesHandler} that is the first rule to accept a move, for the
+ * {@link be.kdg.integration2.mvpglobal.model.rulebasedsystem.InferenceEngine},
+ * which needs every rule to accept, the first one to reject it. Rules are
+ * therefore ranked by their average cost per evaluation divided by the
+ * estimated chance that they decide, so cheap and selective rules come first.
+ * </p>
+ *
+ * <p>Only rules that cannot influence each other are reordered. A rule stays
+ * behind an originally earlier rule if either of them has side effects, if one
+ * writes a fact the other reads or if both write the same fact; the first move
+ * accepted, and the outcome for every move, is then the same as in the original
+ * order. Which of several deciding rules is reported may differ. Without
+ * statistics, or with equal ranks, the original order is kept.</p>
+ *
+ * <p>An ordering is not thread-safe.</p>
+ */
+public class RuleOrdering {
+    /** What makes evaluation of a move stop. */
+    public enum Goal {
+        /** Evaluation stops at the first rule that accepts the move. */
+        FIRST_ACCEPT,
+        /** Evaluation stops at the first rule that rejects the move. */
+        FIRST_REJECT
+    }
+
+    private final List<Rule> rules;
+    private final List<RuleStatistics> statistics;
+    private final Goal goal;
+    private final int reorderInterval;
+    // mustFollow[b][a]: rule b has to stay behind rule a
+    private final boolean[][] mustFollow;
+    private int[] order;
+    private int evaluations;
+
+    /**
+     * Creates an ordering that starts in the original order.
+     *
+     * @param rules           the rules in their original priority order
+     * @param statistics      the statistics of every rule, by index
+     * @param goal            what makes evaluation stop
+     * @param reorderInterval the number of evaluations between two reorders
+     */
+    public RuleOrdering(List<Rule> rules, List<RuleStatistics> statistics, Goal goal, int reorderInterval) {
+        this.rules = rules;
+        this.statistics = statistics;
+        this.goal = goal;
+        this.reorderInterval = Math.max(1, reorderInterval);
+        int n = rules.size();
+        this.mustFollow = new boolean[n][n];
+        for (int b = 0; b < n; b++) {
+            for (int a = 0; a < b; a++) {
+                mustFollow[b][a] = dependent(rules.get(a), rules.get(b));
+            }
+        }
+        order = identityOrder();
+    }
+
+    private static boolean dependent(Rule a, Rule b) {
+        return a.hasSideEffects() || b.hasSideEffects()
+                || (a.writtenFacts() & b.readFacts()) != 0
+                || (b.writtenFacts() & a.readFacts()) != 0
+                || (a.writtenFacts() & b.writtenFacts()) != 0;
+    }
+
+    /**
+     * Returns the current order. The array is replaced, not changed, on a reorder,
+     * so callers may keep it for the rest of an evaluation.
+     *
+     * @return the rule indices in evaluation order; must not be modified
+     */
+    public int[] order() {
+        return order;
+    }
+
+    /**
+     * Counts one evaluation and reorders the rules once every reorder interval.
+     */
+    public void evaluated() {
+        if (++evaluations >= reorderInterval) {
+            evaluations = 0;
+            reorder();
+        }
+    }
+
+    /**
+     * Ranks the rules from their statistics and sorts them, keeping dependent
+     * rules in their original order.
+     */
+    public void reorder() {
+        int n = rules.size();
+        double[] ranks = new double[n];
+        for (int i = 0; i < n; i++) {
+            ranks[i] = rank(statistics.get(i).snapshot());
+        }
+
+        int[] newOrder = new int[n];
+        boolean[] placed = new boolean[n];
+        for (int position = 0; position < n; position++) {
+            int best = -1;
+            for (int candidate = 0; candidate < n; candidate++) {
+                if (placed[candidate] || !ready(candidate, placed)) continue;
+                if (best < 0 || ranks[candidate] < ranks[best]) best = candidate;
+            }
+            placed[best] = true;
+            newOrder[position] = best;
+        }
+        order = newOrder;
+    }
+
+    /**
+     * Goes back to the original order.
+     */
+    public void reset() {
+        order = identityOrder();
+        evaluations = 0;
+    }
+
+    private int[] identityOrder() {
+        int[] identity = new int[rules.size()];
+        for (int i = 0; i < identity.length; i++) {
+            identity[i] = i;
+        }
+        return identity;
+    }
+
+    private boolean ready(int candidate, boolean[] placed) {
+        for (int earlier = 0; earlier < candidate; earlier++) {
+            if (mustFollow[candidate][earlier] && !placed[earlier]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the expected cost of evaluating a rule until it decides: its average
+     * cost per evaluation divided by the chance it decides. Both are smoothed, so
+     * rules without statistics rank equal and keep their original order.
+     */
+    private double rank(RuleStatistics.Snapshot snapshot) {
+        long evaluations = snapshot.getConditionChecks() + snapshot.getActionFires() + snapshot.getWeighings();
+        double cost = (snapshot.getNanos() + 1.0) / (evaluations + 1.0);
+        long fires = snapshot.getActionFires();
+        // scored moves are counted as acceptances too, so an acceptance count may exceed the fires
+        long accepted = Math.min(snapshot.getAcceptances(), fires);
+        long deciding = goal == Goal.FIRST_ACCEPT ? accepted : fires - accepted;
+        double chance = (deciding + 1.0) / (fires + 2.0);
+        return cost / chance;
+    }
+}
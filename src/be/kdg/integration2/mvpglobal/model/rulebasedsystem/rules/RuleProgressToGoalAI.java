@@ -4,13 +4,14 @@ import be.kdg.integration2.mvpglobal.model.*;
 import be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts.FactValues;
 import be.kdg.integration2.mvpglobal.model.rulebasedsystem.facts.FactsHandler;
 
-import java.util.Set;
-
 /**
  * Rule that ensures AI progresses towards its goal by only moving pieces closer to its target area
  * and prevents moving away from the goal unless moving deeper into the winning camp.
  */
 public class RuleProgressToGoalAI extends Rule {
+    private static final PieceColor AI_COLOR = PieceColor.WHITE;
+    private static final int DIAGONAL_WEIGHT = 10;
+    private static final int LEAVE_CAMP_WEIGHT = -1000;
 
     /**
      * Evaluates whether the condition for the rule is met. In this case, the condition is always true.
@@ -41,16 +42,18 @@ public class RuleProgressToGoalAI extends Rule {
         boolean startInCamp = isInWinningCamp(start);
         boolean endInCamp = isInWinningCamp(end);
 
-        int startDistance = manhattanDistance(start, new Position(0, 0));
-        int endDistance = manhattanDistance(end, new Position(0, 0));
+        int startDistance = DistanceTables.distance(AI_COLOR, start.index());
+        int endDistance = DistanceTables.distance(AI_COLOR, end.index());
 
         // Only allow moves out of the camp if it moves deeper into the camp
         if (startInCamp && !endInCamp) {
             return false;
         }
 
-        // Avoid regression — only accept moves that are closer to goal
-        if (endDistance < startDistance) {
+        // Avoid regression — only accept moves that are closer to goal, or as close
+        // but nearer to the corner along the diagonal
+        if (endDistance < startDistance
+                || (endDistance == startDistance && diagonal(end) < diagonal(start))) {
             facts.addFact(FactValues.PROGRESS_AI);
             return true;
         }
@@ -59,31 +62,64 @@ public class RuleProgressToGoalAI extends Rule {
     }
 
     /**
-     * Calculates the Manhattan distance between two positions on the board.
+     * Weighs a move by the progress it makes along the diagonal towards the target
+     * camp of the side to move. Forward moves of pieces that are still far from
+     * the camp get a bonus, so stragglers are not left behind. Leaving the target
+     * camp is heavily penalised.
+     *
+     * @param board The current game board.
+     * @param move  The candidate move.
+     * @param color The side to move.
+     * @return the weight of the move; negative for moves away from the goal.
+     */
+    @Override
+    public int weight(Board board, Move move, PieceColor color) {
+        int start = move.getStart().index();
+        int end = move.getEnd().index();
+        PieceColor home = Board.opponent(color);
+        if (Board.isInCamp(home, start) && !Board.isInCamp(home, end)) {
+            return LEAVE_CAMP_WEIGHT;
+        }
+
+        int diagonalGain = diagonal(move.getStart()) - diagonal(move.getEnd());
+        if (color == PieceColor.BLACK) diagonalGain = -diagonalGain;
+        int stragglerBonus = diagonalGain > 0 ? DistanceTables.distance(color, start) : 0;
+        return DIAGONAL_WEIGHT * diagonalGain + stragglerBonus;
+    }
+
+    @Override
+    public int readFacts() {
+        return 0;
+    }
+
+    @Override
+    public int writtenFacts() {
+        return factMask(FactValues.PROGRESS_AI);
+    }
+
+    @Override
+    public boolean hasSideEffects() {
+        return false;
+    }
+
+    /**
+     * Calculates how far a position lies along the diagonal from the AI's goal corner (0,0).
      *
-     * @param a The starting position.
-     * @param b The destination position.
-     * @return The Manhattan distance between the two positions.
+     * @param pos The position.
+     * @return The sum of its row and column.
      */
-    private int manhattanDistance(Position a, Position b) {
-        return Math.abs(a.getRow() - b.getRow()) + Math.abs(a.getCol() - b.getCol());
+    private int diagonal(Position pos) {
+        return pos.getRow() + pos.getCol();
     }
 
     /**
      * Checks if the given position is within the AI's winning camp.
-     * For this case, the AI's winning camp is defined by positions where row <= 3 and col <= row.
+     * The AI plays WHITE, so its winning camp is BLACK's starting camp in the top-left corner.
      *
      * @param pos The position to check.
      * @return true if the position is in the AI's winning camp, false otherwise.
      */
     private boolean isInWinningCamp(Position pos) {
-         final Set<Position> blackCamp = Set.of(
-            new Position(0,0), new Position(0,1), new Position(0,2), new Position(0,3), new Position(0,4),
-            new Position(1,0), new Position(1,1), new Position(1,2), new Position(1,3), new Position(1,4),
-            new Position(2,0), new Position(2,1), new Position(2,2), new Position(2,3),
-            new Position(3,0), new Position(3,1), new Position(3,2),
-            new Position(4,0), new Position(4,1)
-    );
-        return blackCamp.contains(pos);
+        return Board.isInCamp(PieceColor.BLACK, pos.index());
     }
 }
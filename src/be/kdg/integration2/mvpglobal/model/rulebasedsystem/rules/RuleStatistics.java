@@ -0,0 +1,144 @@
+package be.kdg.integration2.mvpglobal.model.rulebasedsystem.rules;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running counters of how often one rule is evaluated, how often it decides and
+ * how much time it costs.
+ * <p>
+ * The counters are {@link LongAdder}s, so rules scored on several threads at once
+ * can record without contention. {@link #snapshot()} reads them into an immutable
+ * {@link Snapshot}; while rules are being evaluated, the counters of a snapshot
+ * may be a few events apart from each other.
+ * </p>
+ */
+public class RuleStatistics {
+    private final String ruleName;
+    private final LongAdder conditionChecks = new LongAdder();
+    private final LongAdder conditionsMet = new LongAdder();
+    private final LongAdder actionFires = new LongAdder();
+    private final LongAdder acceptances = new LongAdder();
+    private final LongAdder weighings = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    public RuleStatistics(String ruleName) {
+        this.ruleName = ruleName;
+    }
+
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    public void recordCondition(boolean met, long elapsedNanos) {
+        conditionChecks.increment();
+        if (met) conditionsMet.increment();
+        nanos.add(elapsedNanos);
+    }
+
+    public void recordAction(boolean accepted, long elapsedNanos) {
+        actionFires.increment();
+        if (accepted) acceptances.increment();
+        nanos.add(elapsedNanos);
+    }
+
+    public void recordAcceptance() {
+        acceptances.increment();
+    }
+
+    public void recordWeighings(int count, long elapsedNanos) {
+        weighings.add(count);
+        nanos.add(elapsedNanos);
+    }
+
+    /**
+     * Sets all counters back to zero.
+     */
+    public void reset() {
+        conditionChecks.reset();
+        conditionsMet.reset();
+        actionFires.reset();
+        acceptances.reset();
+        weighings.reset();
+        nanos.reset();
+    }
+
+    /**
+     * Reads the current counters.
+     *
+     * @return the counters as they are now
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(ruleName, conditionChecks.sum(), conditionsMet.sum(), actionFires.sum(),
+                acceptances.sum(), weighings.sum(), nanos.sum());
+    }
+
+    /**
+     * The counters of one rule at one moment.
+     */
+    public static final class Snapshot {
+        private final String ruleName;
+        private final long conditionChecks;
+        private final long conditionsMet;
+        private final long actionFires;
+        private final long acceptances;
+        private final long weighings;
+        private final long nanos;
+
+        /**
+         * Creates a snapshot.
+         *
+         * @param ruleName        the name of the rule
+         * @param conditionChecks the number of times the condition was checked
+         * @param conditionsMet   the number of checks that found the condition true
+         * @param actionFires     the number of times the action was fired
+         * @param acceptances     the number of fired actions that accepted the move, plus the
+         *                        number of played moves the rule gave a positive weight
+         * @param weighings       the number of moves weighed by the rule
+         * @param nanos           the time spent in the rule, in nanoseconds
+         */
+        public Snapshot(String ruleName, long conditionChecks, long conditionsMet, long actionFires,
+                        long acceptances, long weighings, long nanos) {
+            this.ruleName = ruleName;
+            this.conditionChecks = conditionChecks;
+            this.conditionsMet = conditionsMet;
+            this.actionFires = actionFires;
+            this.acceptances = acceptances;
+            this.weighings = weighings;
+            this.nanos = nanos;
+        }
+
+        public String getRuleName() {
+            return ruleName;
+        }
+
+        public long getConditionChecks() {
+            return conditionChecks;
+        }
+
+        public long getConditionsMet() {
+            return conditionsMet;
+        }
+
+        public long getActionFires() {
+            return actionFires;
+        }
+
+        public long getAcceptances() {
+            return acceptances;
+        }
+
+        public long getWeighings() {
+            return weighings;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d condition checks (%d met), %d action fires (%d accepted), %d weighings, %.3f ms",
+                    ruleName, conditionChecks, conditionsMet, actionFires, acceptances, weighings, nanos / 1e6);
+        }
+    }
+}
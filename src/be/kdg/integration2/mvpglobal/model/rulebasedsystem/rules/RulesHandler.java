@@ -10,8 +10,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class RulesHandler {
+    /** Number of decisions between two reorders in adaptive mode. */
+    private static final int REORDER_INTERVAL = 16;
 
     private List<Rule> rules = new ArrayList<>();
+    private final List<RuleStatistics> statistics = new ArrayList<>();
+    private final RuleOrdering ordering;
+    private boolean adaptiveOrdering;
 
     /**
      * Order of the rules:
@@ -31,19 +36,119 @@ public class RulesHandler {
         rules.add(1, new RuleGoodMove());
         rules.add(2,new RuleJumpOver());
         rules.add(3, new RuleProgressToGoalAI());
+        for (Rule rule : rules) {
+            statistics.add(new RuleStatistics(rule.getClass().getSimpleName()));
+        }
+        ordering = new RuleOrdering(rules, statistics, RuleOrdering.Goal.FIRST_ACCEPT, REORDER_INTERVAL);
     }
 
     public boolean checkConditionRule(int index, FactsHandler facts) {
-        return rules.get(index).conditionRule(facts);
+        long start = System.nanoTime();
+        boolean met = rules.get(index).conditionRule(facts);
+        statistics.get(index).recordCondition(met, System.nanoTime() - start);
+        return met;
     }
 
     public boolean fireActionRule(int index, FactsHandler facts, Board board, Move move) {
-        return rules.get(index).actionRule(facts, board, move);
+        long start = System.nanoTime();
+        boolean accepted = rules.get(index).actionRule(facts, board, move);
+        statistics.get(index).recordAction(accepted, System.nanoTime() - start);
+        return accepted;
     }
 
     public int numberOfRules() {
         return rules.size();
     }
+
+    /**
+     * Adds the weights one rule gives to a range of candidate moves to their scores.
+     * The time is measured once for the whole range, which keeps the cost of the
+     * statistics low when every move is weighed.
+     *
+     * @param index      the rule
+     * @param board      the current game board
+     * @param color      the side to move
+     * @param candidates the candidate moves
+     * @param scores     the scores of the candidates, by index
+     * @param from       the first candidate to weigh
+     * @param to         one past the last candidate to weigh
+     */
+    public void weighRule(int index, Board board, PieceColor color, List<Move> candidates, int[] scores,
+                          int from, int to) {
+        Rule rule = rules.get(index);
+        long start = System.nanoTime();
+        for (int i = from; i < to; i++) {
+            scores[i] += rule.weight(board, candidates.get(i), color);
+        }
+        statistics.get(index).recordWeighings(to - from, System.nanoTime() - start);
+    }
+
+    /**
+     * Tells every rule which move was chosen after scoring. Rules that gave the
+     * move a positive weight are counted as having accepted it.
+     *
+     * @param board the game board before the move
+     * @param move  the chosen move
+     * @param color the side that moves
+     */
+    public void notifyMoveChosen(Board board, Move move, PieceColor color) {
+        for (int i = 0; i < rules.size(); i++) {
+            Rule rule = rules.get(i);
+            if (rule.weight(board, move, color) > 0) statistics.get(i).recordAcceptance();
+            rule.moveChosen(board, move);
+        }
+    }
+
+    /**
+     * Turns adaptive rule ordering on or off. When on, {@link #evaluationOrder()}
+     * puts cheap rules that often accept first, keeping rules that depend on each
+     * other in priority order; see {@link RuleOrdering}. Turning it off goes back
+     * to the priority order.
+     *
+     * @param adaptiveOrdering true to reorder the rules from their statistics
+     */
+    public void setAdaptiveOrdering(boolean adaptiveOrdering) {
+        this.adaptiveOrdering = adaptiveOrdering;
+        ordering.reset();
+    }
+
+    public boolean isAdaptiveOrdering() {
+        return adaptiveOrdering;
+    }
+
+    /**
+     * Returns the order in which to evaluate the rules for one decision. In adaptive
+     * mode, every call counts as a decision and the order is recomputed regularly.
+     *
+     * @return the rule indices in evaluation order; must not be modified
+     */
+    public int[] evaluationOrder() {
+        if (adaptiveOrdering) ordering.evaluated();
+        return ordering.order();
+    }
+
+    public Rule getRule(int index) {
+        return rules.get(index);
+    }
+
+    /**
+     * Reads the statistics of every rule, in rule order.
+     *
+     * @return one snapshot per rule
+     */
+    public List<RuleStatistics.Snapshot> getStatistics() {
+        List<RuleStatistics.Snapshot> snapshots = new ArrayList<>(statistics.size());
+        for (RuleStatistics ruleStatistics : statistics) {
+            snapshots.add(ruleStatistics.snapshot());
+        }
+        return snapshots;
+    }
+
+    public void resetStatistics() {
+        for (RuleStatistics ruleStatistics : statistics) {
+            ruleStatistics.reset();
+        }
+    }
 }
 
 
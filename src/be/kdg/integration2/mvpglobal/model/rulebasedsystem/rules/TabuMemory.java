@@ -0,0 +1,130 @@
+package be.kdg.integration2.mvpglobal.model.rulebasedsystem.rules;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size memory of the most recently used 64-bit keys, such as Zobrist
+ * position hashes and piece-square keys, to keep the AI from shuffling pieces
+ * back and forth.
+ * <p>
+ * The keys are kept in a ring buffer in the order they were remembered; once it
+ * is full, remembering a key forgets the oldest one. An open-addressed hash set
+ * with linear probing counts how often every key occurs in the ring, so
+ * remembering, forgetting and looking up a key all take constant time and never
+ * allocate. Removal shifts the following entries of a probe run back instead of
+ * leaving tombstones, so lookups stay short however long the game.
+ * </p>
+ *
+ * <p>A memory belongs to one player in one game. It is not thread-safe, but
+ * lookups may run concurrently as long as nothing is remembered at the same time.</p>
+ */
+public class TabuMemory {
+    private final long[] ring;
+    private int next;
+    private int size;
+
+    // open-addressed set: a slot is empty when its count is 0
+    private final long[] keys;
+    private final int[] counts;
+    private final int mask;
+
+    /**
+     * Creates an empty memory.
+     *
+     * @param capacity the number of keys remembered
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public TabuMemory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        ring = new long[capacity];
+        // at most half full, so probe runs stay short
+        int tableSize = Integer.highestOneBit(capacity * 2 - 1) << 1;
+        keys = new long[tableSize];
+        counts = new int[tableSize];
+        mask = tableSize - 1;
+    }
+
+    /**
+     * Remembers a key, forgetting the oldest one if the memory is full.
+     *
+     * @param key the key
+     */
+    public void remember(long key) {
+        if (size == ring.length) {
+            forget(ring[next]);
+        } else {
+            size++;
+        }
+        ring[next] = key;
+        next = next + 1 == ring.length ? 0 : next + 1;
+
+        int slot = slotOf(key);
+        if (counts[slot] == 0) keys[slot] = key;
+        counts[slot]++;
+    }
+
+    /**
+     * Checks whether a key is among the remembered ones.
+     *
+     * @param key the key
+     * @return true if the key was remembered and not forgotten yet
+     */
+    public boolean contains(long key) {
+        return counts[slotOf(key)] != 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return ring.length;
+    }
+
+    /**
+     * Forgets all keys, e.g. at the start of a new game.
+     */
+    public void clear() {
+        Arrays.fill(counts, 0);
+        next = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the slot holding the key, or the empty slot where it would go.
+     */
+    private int slotOf(long key) {
+        int slot = home(key);
+        while (counts[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int home(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    private void forget(long key) {
+        int slot = slotOf(key);
+        if (--counts[slot] > 0) return;
+
+        // shift later entries of the probe run back into the hole
+        int hole = slot;
+        int current = slot;
+        while (true) {
+            current = (current + 1) & mask;
+            if (counts[current] == 0) break;
+            int home = home(keys[current]);
+            // the entry may move to the hole unless its home lies cyclically in (hole, current]
+            boolean stays = hole <= current ? hole < home && home <= current : hole < home || home <= current;
+            if (stays) continue;
+            keys[hole] = keys[current];
+            counts[hole] = counts[current];
+            hole = current;
+        }
+        counts[hole] = 0;
+    }
+}
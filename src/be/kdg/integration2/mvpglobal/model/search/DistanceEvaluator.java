@@ -0,0 +1,35 @@
+package be.kdg.integration2.mvpglobal.model.search;
+
+import be.kdg.integration2.mvpglobal.model.Board;
+import be.kdg.integration2.mvpglobal.model.PieceColor;
+
+/**
+ * Evaluation built on the distance sums that {@link Board} maintains incrementally.
+ * <p>
+ * Each side is scored by how much distance it still has to cover, in steps and
+ * in hops. A penalty for its farthest piece keeps stragglers from being left
+ * behind, and a bonus for every piece in the target camp rewards filling it. The
+ * evaluation is the difference between both sides.
+ * </p>
+ *
+ * <p>Every term is read from counters kept up to date by the board, so an
+ * evaluation costs a few array reads instead of a walk over the pieces.</p>
+ */
+public class DistanceEvaluator implements Evaluator {
+    private static final int DISTANCE_WEIGHT = 2;
+    private static final int HOP_DISTANCE_WEIGHT = 1;
+    private static final int STRAGGLER_WEIGHT = 3;
+    private static final int CAMP_BONUS = 4;
+
+    @Override
+    public int evaluate(Board board, PieceColor perspective) {
+        return score(board, perspective) - score(board, Board.opponent(perspective));
+    }
+
+    private static int score(Board board, PieceColor color) {
+        return CAMP_BONUS * board.countInTargetCamp(color)
+                - DISTANCE_WEIGHT * board.getDistanceSum(color)
+                - HOP_DISTANCE_WEIGHT * board.getHopDistanceSum(color)
+                - STRAGGLER_WEIGHT * board.getMaxDistance(color);
+    }
+}
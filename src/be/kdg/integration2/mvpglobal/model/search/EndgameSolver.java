@@ -0,0 +1,240 @@
+package be.kdg.integration2.mvpglobal.model.search;
+
+import be.kdg.integration2.mvpglobal.model.BitBoard;
+import be.kdg.integration2.mvpglobal.model.Board;
+import be.kdg.integration2.mvpglobal.model.DistanceTables;
+import be.kdg.integration2.mvpglobal.model.MoveList;
+import be.kdg.integration2.mvpglobal.model.PackedMove;
+import be.kdg.integration2.mvpglobal.model.PieceColor;
+import be.kdg.integration2.mvpglobal.model.Zobrist;
+
+import java.util.Arrays;
+
+/**
+ * Finds the shortest way to bring the last few pieces into the target camp.
+ * <p>
+ * Once only a handful of pieces are outside the camp, the game is a race. The
+ * solver therefore only moves its own side and treats the opponent's pieces as
+ * fixed obstacles and stepping stones. It runs an iterative-deepening A* search
+ * (IDA*): every piece outside the camp needs at least one more move, so that
+ * count is an admissible lower bound, and the move limit grows by one until a
+ * finish is found. Positions that failed with a given number of moves left are
+ * remembered in a small hash table, and the memo survives from one limit to the next.
+ * </p>
+ *
+ * <p>To keep the branching factor small, the solver never moves backwards: pieces
+ * outside the camp only make moves that do not increase their distance to it, and
+ * pieces inside only move deeper towards its corner, which makes room at the
+ * edge. Among such finishes the solution is the shortest. The search is capped
+ * at a node limit; if the cap is hit, the solver gives up and the caller falls
+ * back to its normal play.</p>
+ *
+ * <p>The solver does not take over while opponent pieces block so many target-camp
+ * squares that the remaining pieces cannot all fit, since no finish exists
+ * then. Positions it gave up on are remembered, so asking again costs nothing.</p>
+ */
+public class EndgameSolver {
+    /** Number of pieces outside the camp at which the solver takes over by default. */
+    public static final int DEFAULT_MAX_PIECES_OUTSIDE = 3;
+    /** Positions searched before the solver gives up, by default. */
+    public static final long DEFAULT_NODE_LIMIT = 300_000;
+
+    private static final int MAX_MOVES = 32;
+    private static final int MEMO_BITS = 20;
+    private static final int MEMO_MASK = (1 << MEMO_BITS) - 1;
+    private static final int ENTER_CAMP_SCORE = 1 << 10;
+    private static final int FAILED_ROOT_BITS = 8;
+    private static final int FAILED_ROOT_MASK = (1 << FAILED_ROOT_BITS) - 1;
+
+    private int maxPiecesOutside = DEFAULT_MAX_PIECES_OUTSIDE;
+    private long nodeLimit = DEFAULT_NODE_LIMIT;
+
+    private final MoveList[] moveLists = new MoveList[MAX_MOVES + 1];
+    private final MoveList generated = new MoveList();
+    // position hash -> largest number of remaining moves known not to be enough (stored + 1; 0 = empty)
+    private final long[] memoKeys = new long[1 << MEMO_BITS];
+    private final byte[] memoFailed = new byte[1 << MEMO_BITS];
+    // root positions (hash and color) for which solve gave up; 0 = empty
+    private final long[] failedRoots = new long[1 << FAILED_ROOT_BITS];
+
+    private PieceColor color;
+    private long nodes;
+    private boolean exhausted;
+    private int firstMove;
+    private int solutionLength = -1;
+
+    public EndgameSolver() {
+        for (int i = 0; i < moveLists.length; i++) {
+            moveLists[i] = new MoveList();
+        }
+    }
+
+    /**
+     * Sets how few pieces must be left outside the camp for the solver to take over.
+     *
+     * @param maxPiecesOutside the largest number of pieces outside the camp
+     */
+    public void setMaxPiecesOutside(int maxPiecesOutside) {
+        this.maxPiecesOutside = maxPiecesOutside;
+        Arrays.fill(failedRoots, 0L);
+    }
+
+    public int getMaxPiecesOutside() {
+        return maxPiecesOutside;
+    }
+
+    /**
+     * Sets the number of positions searched before the solver gives up.
+     *
+     * @param nodeLimit the node limit
+     */
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+        Arrays.fill(failedRoots, 0L);
+    }
+
+    /**
+     * Checks whether the position is an endgame this solver handles.
+     *
+     * @param board the current position
+     * @param color the side to finish
+     * @return {@code true} if between 1 and the configured number of pieces are outside the camp,
+     * and there are enough empty camp squares left for all of them
+     */
+    public boolean isApplicable(Board board, PieceColor color) {
+        int outside = board.countOutsideTargetCamp(color);
+        return outside > 0 && outside <= maxPiecesOutside && board.countEmptyTargetCamp(color) >= outside;
+    }
+
+    /**
+     * Searches for the shortest finish.
+     *
+     * @param board the current position; it is not modified
+     * @param color the side to finish
+     * @return the first move of a shortest finish, or {@link PackedMove#NONE} if
+     * none was found within the node limit, now or on an earlier call for the same position
+     */
+    public int solve(Board board, PieceColor color) {
+        this.color = color;
+        nodes = 0;
+        exhausted = false;
+        firstMove = PackedMove.NONE;
+        solutionLength = -1;
+        long rootKey = rootKey(board, color);
+        int rootSlot = (int) rootKey & FAILED_ROOT_MASK;
+        if (failedRoots[rootSlot] == rootKey) return PackedMove.NONE;
+
+        Board work = new Board(board);
+        work.setSideToMove(color);
+        Arrays.fill(memoKeys, 0L);
+        Arrays.fill(memoFailed, (byte) 0);
+
+        for (int limit = work.countOutsideTargetCamp(color); limit <= MAX_MOVES && !exhausted; limit++) {
+            if (search(work, 0, limit)) {
+                solutionLength = limit;
+                return firstMove;
+            }
+        }
+        failedRoots[rootSlot] = rootKey;
+        return PackedMove.NONE;
+    }
+
+    /**
+     * Returns a non-zero key for the position and the side to finish, independent of the side to move.
+     */
+    private static long rootKey(Board board, PieceColor color) {
+        long hash = board.getSideToMove() == PieceColor.WHITE ? board.hash() ^ Zobrist.sideKey() : board.hash();
+        long key = hash ^ (color == PieceColor.WHITE ? Zobrist.sideKey() : 0L);
+        return key == 0 ? 1 : key;
+    }
+
+    /**
+     * Returns the length of the finish found by the last call to {@link #solve}.
+     *
+     * @return the number of moves needed, or -1 if the last call found none
+     */
+    public int getSolutionLength() {
+        return solutionLength;
+    }
+
+    /**
+     * Returns the number of positions searched by the last call to {@link #solve}.
+     *
+     * @return the node count
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    private boolean search(Board board, int ply, int limit) {
+        if (board.hasPlayerWon(color)) return true;
+        int remaining = limit - ply;
+        if (board.countOutsideTargetCamp(color) > remaining) return false;
+        if (++nodes > nodeLimit) {
+            exhausted = true;
+            return false;
+        }
+
+        // the side to move flips every ply; hash the pieces only, so both parities share the memo
+        long hash = (ply & 1) == 0 ? board.hash() : board.hash() ^ Zobrist.sideKey();
+        int slot = (int) hash & MEMO_MASK;
+        if (memoKeys[slot] == hash && memoFailed[slot] > remaining) return false;
+
+        MoveList moves = moveLists[ply];
+        generateMoves(board, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            moves.selectBest(i);
+            board.makeMove(moves.from(i), moves.to(i));
+            boolean solved = search(board, ply + 1, limit);
+            board.unmakeMove();
+            if (solved) {
+                if (ply == 0) firstMove = moves.get(i);
+                return true;
+            }
+            if (exhausted) return false;
+        }
+
+        memoKeys[slot] = hash;
+        memoFailed[slot] = (byte) (remaining + 1);
+        return false;
+    }
+
+    /**
+     * Generates the moves that do not go backwards: moves of pieces outside the camp
+     * that do not increase their distance to it, and moves inside the camp towards
+     * its corner. Entering the camp and advancing the farthest are tried first.
+     */
+    private void generateMoves(Board board, MoveList moves) {
+        board.generateMoves(color, generated);
+        moves.clear();
+        PieceColor home = Board.opponent(color);
+        for (int i = 0; i < generated.size(); i++) {
+            int from = generated.from(i);
+            int to = generated.to(i);
+            boolean fromInCamp = Board.isInCamp(home, from);
+            boolean toInCamp = Board.isInCamp(home, to);
+            int gain;
+            if (fromInCamp) {
+                // inside the camp, only moves towards the far corner, which make room at the edge
+                if (!toInCamp) continue;
+                gain = cornerDistance(from) - cornerDistance(to);
+            } else {
+                gain = DistanceTables.distance(color, from) - DistanceTables.distance(color, to);
+            }
+            if (gain < 0) continue;
+
+            int score = gain;
+            if (!fromInCamp && toInCamp) score += ENTER_CAMP_SCORE;
+            moves.add(generated.get(i));
+            moves.setScore(moves.size() - 1, score);
+        }
+    }
+
+    /**
+     * Returns the diagonal distance of a square from the corner of this side's target camp.
+     */
+    private int cornerDistance(int square) {
+        int diagonal = BitBoard.row(square) + BitBoard.col(square);
+        return color == PieceColor.BLACK ? 2 * (Board.SIZE - 1) - diagonal : diagonal;
+    }
+}
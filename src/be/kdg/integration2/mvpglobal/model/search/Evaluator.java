@@ -0,0 +1,24 @@
+package be.kdg.integration2.mvpglobal.model.search;
+
+import be.kdg.integration2.mvpglobal.model.Board;
+import be.kdg.integration2.mvpglobal.model.PieceColor;
+
+/**
+ * Static evaluation of a Halma position, used at the leaves of a search.
+ * <p>
+ * Implementations return a score from the point of view of the given color:
+ * positive values favour that color. Scores must stay well inside
+ * &plusmn;{@link SearchEngine#WIN_SCORE} so they never look like a won game.
+ * </p>
+ */
+public interface Evaluator {
+
+    /**
+     * Evaluates the position.
+     *
+     * @param board       the position to evaluate
+     * @param perspective the color the score is reported for
+     * @return the score for {@code perspective}
+     */
+    int evaluate(Board board, PieceColor perspective);
+}
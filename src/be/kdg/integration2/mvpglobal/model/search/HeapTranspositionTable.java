@@ -0,0 +1,56 @@
+package be.kdg.integration2.mvpglobal.model.search;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Transposition table kept in two {@code long[]} arrays on the Java heap.
+ * <p>
+ * Slots are accessed with opaque {@link VarHandle} reads and writes, which are
+ * atomic for {@code long} on every JVM. The table holds at most 2<sup>30</sup>
+ * slots (16 GB); use an {@link OffHeapTranspositionTable} for larger caches or
+ * to keep the cache out of the garbage collector's way.
+ * </p>
+ */
+public class HeapTranspositionTable extends TranspositionTable {
+    private static final long MAX_ENTRIES = 1L << 30;
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] keys;
+    private final long[] data;
+
+    /**
+     * Creates a table of at most the given size. The number of entries is rounded
+     * down to a power of two.
+     *
+     * @param megabytes the memory budget, in megabytes (at least 1)
+     */
+    public HeapTranspositionTable(int megabytes) {
+        super(Math.min(entriesFor(megabytes), MAX_ENTRIES));
+        keys = new long[(int) getEntries()];
+        data = new long[(int) getEntries()];
+    }
+
+    @Override
+    protected long readKey(long slot) {
+        return (long) SLOT.getOpaque(keys, (int) slot);
+    }
+
+    @Override
+    protected long readData(long slot) {
+        return (long) SLOT.getOpaque(data, (int) slot);
+    }
+
+    @Override
+    protected void write(long slot, long key, long data) {
+        SLOT.setOpaque(keys, (int) slot, key);
+        SLOT.setOpaque(this.data, (int) slot, data);
+    }
+
+    @Override
+    protected void clearSlots() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+    }
+}
@@ -0,0 +1,121 @@
+package be.kdg.integration2.mvpglobal.model.search;
+
+import be.kdg.integration2.mvpglobal.model.BitBoard;
+import be.kdg.integration2.mvpglobal.model.MoveList;
+import be.kdg.integration2.mvpglobal.model.PackedMove;
+import be.kdg.integration2.mvpglobal.model.PieceColor;
+
+import java.util.Arrays;
+
+/**
+ * Scores moves so that the search tries the most promising ones first.
+ * <p>
+ * The order is:
+ * </p>
+ * <ol>
+ *   <li>the move of the previous iteration's principal variation;</li>
+ *   <li>the best move stored in the transposition table;</li>
+ *   <li>moves that advance towards the target corner, the largest gain first,
+ *       so long hop chains come early;</li>
+ *   <li>killer moves: the last two moves that caused a cutoff at the same ply;</li>
+ *   <li>the remaining moves, sideways before backwards, each group ordered by a
+ *       history table that counts how often a move caused a cutoff anywhere in the tree.</li>
+ * </ol>
+ * <p>
+ * History scores break ties among forward moves as well. They are halved for
+ * the whole side whenever one of them reaches its limit, so old cutoffs
+ * gradually lose weight.
+ * </p>
+ */
+final class MoveOrderer {
+    private static final int PV_SCORE = 1 << 30;
+    private static final int HASH_MOVE_SCORE = PV_SCORE - 1;
+    private static final int FORWARD_SCORE = 1 << 24;
+    private static final int GAIN_SHIFT = 16;
+    private static final int KILLER_SCORE = 1 << 20;
+    private static final int SIDEWAYS_SCORE = 1 << 16;
+    private static final int HISTORY_LIMIT = 0xFFFF;
+
+    private final int[][] killers = new int[SearchEngine.MAX_PLY + 1][2];
+    // indexed by color << 16 | from << 8 | to
+    private final int[] history = new int[2 << 16];
+
+    /**
+     * Forgets all killers and history, e.g. before a new search.
+     */
+    void clear() {
+        for (int[] pair : killers) Arrays.fill(pair, PackedMove.NONE);
+        Arrays.fill(history, 0);
+    }
+
+    /**
+     * Assigns an ordering score to every move in the list.
+     *
+     * @param moves    the moves to score
+     * @param side     the side to move
+     * @param ply      the distance from the root
+     * @param pvMove   the principal variation move, or {@link PackedMove#NONE}
+     * @param hashMove the transposition table move, or {@link PackedMove#NONE}
+     */
+    void score(MoveList moves, PieceColor side, int ply, int pvMove, int hashMove) {
+        int pvSquares = PackedMove.squares(pvMove);
+        int hashSquares = PackedMove.squares(hashMove);
+        int killer0 = PackedMove.squares(killers[ply][0]);
+        int killer1 = PackedMove.squares(killers[ply][1]);
+        int historyBase = side.ordinal() << 16;
+
+        for (int i = 0; i < moves.size(); i++) {
+            int squares = PackedMove.squares(moves.get(i));
+            int score;
+            if (squares == pvSquares) {
+                score = PV_SCORE;
+            } else if (squares == hashSquares) {
+                score = HASH_MOVE_SCORE;
+            } else {
+                int gain = gain(side, moves.from(i), moves.to(i));
+                int historyScore = history[historyBase | squares];
+                if (gain > 0) {
+                    score = FORWARD_SCORE + (gain << GAIN_SHIFT) + historyScore;
+                } else if (squares == killer0) {
+                    score = KILLER_SCORE + 1;
+                } else if (squares == killer1) {
+                    score = KILLER_SCORE;
+                } else {
+                    score = (gain == 0 ? SIDEWAYS_SCORE : 0) + historyScore;
+                }
+            }
+            moves.setScore(i, score);
+        }
+    }
+
+    /**
+     * Records a move that caused a beta cutoff.
+     *
+     * @param side  the side that played the move
+     * @param move  the move
+     * @param depth the remaining depth at which it cut off
+     * @param ply   the distance from the root
+     */
+    void recordCutoff(PieceColor side, int move, int depth, int ply) {
+        int[] pair = killers[ply];
+        if (PackedMove.squares(pair[0]) != PackedMove.squares(move)) {
+            pair[1] = pair[0];
+            pair[0] = move;
+        }
+
+        int base = side.ordinal() << 16;
+        int index = base | PackedMove.squares(move);
+        history[index] += depth * depth;
+        if (history[index] > HISTORY_LIMIT) {
+            for (int i = base; i < base + (1 << 16); i++) history[i] >>= 1;
+        }
+    }
+
+    /**
+     * Returns how far a move advances along the diagonal towards the target corner.
+     */
+    private static int gain(PieceColor side, int from, int to) {
+        int gain = BitBoard.row(to) + BitBoard.col(to) - BitBoard.row(from) - BitBoard.col(from);
+        return side == PieceColor.BLACK ? gain : -gain;
+    }
+}
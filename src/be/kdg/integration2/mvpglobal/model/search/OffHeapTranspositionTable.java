@@ -0,0 +1,146 @@
+package be.kdg.integration2.mvpglobal.model.search;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Transposition table kept outside the Java heap, optionally in a memory-mapped file.
+ * <p>
+ * A multi-gigabyte table held here neither grows the heap nor adds to garbage
+ * collection pauses. The memory is split into chunks of at most 1 GB, since a
+ * single buffer cannot exceed 2 GB. Every slot is 16-byte aligned and accessed
+ * with opaque {@link VarHandle} reads and writes, which are atomic on direct memory.
+ * </p>
+ *
+ * <p>When a file is given, the table is mapped onto it and survives the program.
+ * Zobrist keys are fixed, so results stored in one run stay valid in the next. A
+ * file of a different size is discarded and started empty. Close the table to
+ * flush it to disk.</p>
+ */
+public final class OffHeapTranspositionTable extends TranspositionTable implements AutoCloseable {
+    private static final int CHUNK_SHIFT = 30;
+    private static final int SLOTS_PER_CHUNK_SHIFT = CHUNK_SHIFT - 4; // 16 bytes per slot
+    private static final long SLOT_IN_CHUNK_MASK = (1L << SLOTS_PER_CHUNK_SHIFT) - 1;
+    private static final VarHandle WORD = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final byte[] ZEROES = new byte[1 << 16];
+
+    private final ByteBuffer[] chunks;
+    private final FileChannel channel;
+
+    /**
+     * Creates a table in direct memory. The number of entries is rounded down to a power of two.
+     *
+     * @param megabytes the memory budget, in megabytes (at least 1)
+     */
+    public OffHeapTranspositionTable(int megabytes) {
+        super(entriesFor(megabytes));
+        channel = null;
+        chunks = new ByteBuffer[chunkCount()];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = ByteBuffer.allocateDirect(chunkBytes(i));
+        }
+    }
+
+    /**
+     * Creates a table mapped onto a file, reusing its contents if it was written
+     * by a table of the same size.
+     *
+     * @param file      the file holding the table; created if it does not exist
+     * @param megabytes the memory budget, in megabytes (at least 1)
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public OffHeapTranspositionTable(Path file, int megabytes) throws IOException {
+        super(entriesFor(megabytes));
+        long bytes = getEntries() * BYTES_PER_ENTRY;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() != bytes) channel.truncate(0);
+            chunks = new ByteBuffer[chunkCount()];
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i << CHUNK_SHIFT, chunkBytes(i));
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private int chunkCount() {
+        return (int) ((getEntries() * BYTES_PER_ENTRY + (1L << CHUNK_SHIFT) - 1) >>> CHUNK_SHIFT);
+    }
+
+    private int chunkBytes(int chunk) {
+        long remaining = getEntries() * BYTES_PER_ENTRY - ((long) chunk << CHUNK_SHIFT);
+        return (int) Math.min(remaining, 1L << CHUNK_SHIFT);
+    }
+
+    private static int offset(long slot) {
+        return (int) (slot & SLOT_IN_CHUNK_MASK) << 4;
+    }
+
+    @Override
+    protected long readKey(long slot) {
+        return (long) WORD.getOpaque(chunks[(int) (slot >>> SLOTS_PER_CHUNK_SHIFT)], offset(slot));
+    }
+
+    @Override
+    protected long readData(long slot) {
+        return (long) WORD.getOpaque(chunks[(int) (slot >>> SLOTS_PER_CHUNK_SHIFT)], offset(slot) + Long.BYTES);
+    }
+
+    @Override
+    protected void write(long slot, long key, long data) {
+        ByteBuffer chunk = chunks[(int) (slot >>> SLOTS_PER_CHUNK_SHIFT)];
+        int offset = offset(slot);
+        WORD.setOpaque(chunk, offset, key);
+        WORD.setOpaque(chunk, offset + Long.BYTES, data);
+    }
+
+    @Override
+    protected void clearSlots() {
+        for (ByteBuffer chunk : chunks) {
+            for (int offset = 0; offset < chunk.capacity(); offset += ZEROES.length) {
+                chunk.put(offset, ZEROES, 0, Math.min(ZEROES.length, chunk.capacity() - offset));
+            }
+        }
+    }
+
+    /**
+     * Returns whether the table is backed by a file.
+     *
+     * @return {@code true} for a persistent table
+     */
+    public boolean isPersistent() {
+        return channel != null;
+    }
+
+    /**
+     * Writes the table to its file. Does nothing for a table in direct memory.
+     */
+    public void flush() {
+        if (channel == null) return;
+        for (ByteBuffer chunk : chunks) {
+            ((MappedByteBuffer) chunk).force();
+        }
+    }
+
+    /**
+     * Flushes the table and closes its file. The memory stays usable until the
+     * table is garbage collected.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel == null) return;
+        flush();
+        channel.close();
+    }
+}
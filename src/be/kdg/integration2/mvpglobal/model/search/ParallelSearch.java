@@ -0,0 +1,228 @@
+package be.kdg.integration2.mvpglobal.model.search;
+
+import be.kdg.integration2.mvpglobal.model.Board;
+import be.kdg.integration2.mvpglobal.model.MoveList;
+import be.kdg.integration2.mvpglobal.model.PackedMove;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Multi-threaded alpha-beta search that splits the work at the root.
+ * <p>
+ * Each iteration of the iterative deepening first searches the best move of the
+ * previous iteration on the calling thread to establish a bound ("young brothers
+ * wait"). The remaining root moves are then searched in parallel on a
+ * {@link ForkJoinPool}. Every worker thread owns its own {@link SearchEngine},
+ * and every task works on its own copy of the board. Workers share the best score
+ * found so far through an atomic, so later moves are searched with a tighter window,
+ * and may share a {@link TranspositionTable}, which needs no locking.
+ * </p>
+ *
+ * <p>As in {@link SearchEngine}, an iteration that runs out of time is discarded
+ * and the result comes from the last completed depth. A stop condition given to
+ * {@link #search(Board, int, long, BooleanSupplier)} is polled by every worker,
+ * and an interrupt of the calling thread stops the workers as well. A
+ * {@code ParallelSearch} runs one search at a time.</p>
+ */
+public class ParallelSearch {
+    private final int threads;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<SearchEngine> engines;
+    private final MoveList rootMoves = new MoveList();
+
+    /**
+     * Creates a parallel search with its own pool of worker threads.
+     *
+     * @param threads          the number of worker threads (at least 1)
+     * @param evaluatorFactory creates one evaluator per thread, since evaluators may keep scratch state
+     */
+    public ParallelSearch(int threads, Supplier<Evaluator> evaluatorFactory) {
+        this(threads, evaluatorFactory, null);
+    }
+
+    /**
+     * Creates a parallel search whose threads share one transposition table.
+     *
+     * @param threads          the number of worker threads (at least 1)
+     * @param evaluatorFactory creates one evaluator per thread, since evaluators may keep scratch state
+     * @param table            the table shared by all threads, or {@code null} for none
+     */
+    public ParallelSearch(int threads, Supplier<Evaluator> evaluatorFactory, TranspositionTable table) {
+        this.threads = Math.max(1, threads);
+        this.pool = new ForkJoinPool(this.threads);
+        this.engines = ThreadLocal.withInitial(() -> new SearchEngine(evaluatorFactory.get(), table));
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Searches the position with iterative deepening, splitting each iteration over the pool.
+     *
+     * @param board           the position to search; it is not modified
+     * @param maxDepth        the deepest iteration to run
+     * @param timeBudgetNanos the wall-clock budget, or 0 for no limit
+     * @return the best move of the deepest completed iteration, with statistics summed over all threads
+     */
+    public SearchResult search(Board board, int maxDepth, long timeBudgetNanos) {
+        return search(board, maxDepth, timeBudgetNanos, SearchEngine.NEVER_STOP);
+    }
+
+    /**
+     * Searches the position until the budget runs out or {@code stopCondition}
+     * becomes true. A stopped search may end during the first iteration, in which
+     * case it returns the first legal move.
+     *
+     * @param board           the position to search; it is not modified
+     * @param maxDepth        the deepest iteration to run
+     * @param timeBudgetNanos the wall-clock budget, or 0 for no limit
+     * @param stopCondition   polled by all workers; the search ends once it returns {@code true}
+     * @return the best move of the deepest completed iteration, with statistics summed over all threads
+     */
+    public SearchResult search(Board board, int maxDepth, long timeBudgetNanos, BooleanSupplier stopCondition) {
+        maxDepth = Math.max(1, Math.min(maxDepth, SearchEngine.MAX_PLY));
+        long start = System.nanoTime();
+        Counters counters = new Counters();
+
+        Board root = new Board(board);
+        root.generateMoves(root.getSideToMove(), rootMoves);
+        if (rootMoves.isEmpty()) {
+            return new SearchResult(PackedMove.NONE, 0, 0, 0, System.nanoTime() - start);
+        }
+
+        int bestMove = rootMoves.get(0);
+        int bestScore = 0;
+        int completedDepth = 0;
+        int[] bestLine = {bestMove};
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            // the first iteration always completes
+            long deadline = completedDepth == 0 || timeBudgetNanos <= 0 ? 0 : start + timeBudgetNanos;
+            RootResult result = searchIteration(root, depth, bestMove, deadline, stopCondition, counters);
+            if (result == null) break;
+
+            completedDepth = depth;
+            bestMove = result.move;
+            bestScore = result.score;
+            bestLine = result.line;
+            if (timeBudgetNanos > 0 && System.nanoTime() - start >= timeBudgetNanos) break;
+            if (Math.abs(bestScore) >= SearchEngine.WIN_SCORE - SearchEngine.MAX_PLY) break;
+        }
+        return new SearchResult(bestMove, bestScore, completedDepth, counters.nodes.sum(),
+                System.nanoTime() - start, bestLine, counters.cutoffs.sum(), counters.firstMoveCutoffs.sum());
+    }
+
+    /**
+     * Searches all root moves to the given depth.
+     *
+     * @return the best root move, or {@code null} if the deadline was hit or the search was stopped
+     */
+    private RootResult searchIteration(Board root, int depth, int firstMove, long deadline,
+                                       BooleanSupplier stopCondition, Counters counters) {
+        RootResult best = searchRootMove(root, firstMove, depth, -SearchEngine.INFINITY, deadline, stopCondition, counters);
+        if (best == null) return null;
+
+        AtomicInteger alpha = new AtomicInteger(best.score);
+        // workers cannot see an interrupt of the calling thread, so it is passed on through this flag
+        AtomicBoolean interrupted = new AtomicBoolean();
+        BooleanSupplier stopWorkers = () -> interrupted.get() || stopCondition.getAsBoolean();
+        List<ForkJoinTask<RootResult>> tasks = new ArrayList<>(rootMoves.size());
+        for (int i = 0; i < rootMoves.size(); i++) {
+            int move = rootMoves.get(i);
+            if (move == firstMove) continue;
+            tasks.add(pool.submit(() -> {
+                int taskAlpha = alpha.get();
+                RootResult result = searchRootMove(root, move, depth, taskAlpha, deadline, stopWorkers, counters);
+                if (result != null && result.exact) alpha.accumulateAndGet(result.score, Math::max);
+                return result;
+            }));
+        }
+
+        boolean complete = true;
+        try {
+            for (var task : tasks) {
+                RootResult result = task.get();
+                if (result == null) complete = false;
+                // a move that failed low only has an upper bound and a cut-off line, so it never replaces the best
+                else if (result.exact && result.score > best.score) best = result;
+            }
+        } catch (InterruptedException e) {
+            interrupted.set(true);
+            tasks.forEach(ForkJoinTask::quietlyJoin);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Parallel search task failed", e.getCause());
+        }
+        return complete ? best : null;
+    }
+
+    /**
+     * Plays one root move on a private copy of the board and searches the reply
+     * with the window (alpha, infinity) from the root's point of view. A score
+     * above alpha is exact; a score at or below it is only an upper bound.
+     *
+     * @return the move's score, or {@code null} if the deadline was hit or the search was stopped
+     */
+    private RootResult searchRootMove(Board root, int move, int depth, int alpha, long deadline,
+                                      BooleanSupplier stopCondition, Counters counters) {
+        SearchEngine engine = engines.get();
+        Board board = new Board(root);
+        board.makeMove(PackedMove.from(move), PackedMove.to(move));
+        int score = -engine.searchWindow(board, depth - 1, -SearchEngine.INFINITY, -alpha, deadline, stopCondition);
+        counters.add(engine);
+        if (engine.isAborted()) return null;
+
+        int[] reply = engine.getPrincipalVariation();
+        int[] line = new int[reply.length + 1];
+        line[0] = move;
+        System.arraycopy(reply, 0, line, 1, reply.length);
+        return new RootResult(move, score, score > alpha, line);
+    }
+
+    /**
+     * Stops the worker threads. The search cannot be used afterwards.
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Search statistics summed over all threads.
+     */
+    private static final class Counters {
+        final LongAdder nodes = new LongAdder();
+        final LongAdder cutoffs = new LongAdder();
+        final LongAdder firstMoveCutoffs = new LongAdder();
+
+        void add(SearchEngine engine) {
+            nodes.add(engine.getNodes());
+            cutoffs.add(engine.getCutoffs());
+            firstMoveCutoffs.add(engine.getFirstMoveCutoffs());
+        }
+    }
+
+    private static final class RootResult {
+        final int move;
+        final int score;
+        // false if the move failed low, so that score is only an upper bound
+        final boolean exact;
+        final int[] line;
+
+        RootResult(int move, int score, boolean exact, int[] line) {
+            this.move = move;
+            this.score = score;
+            this.exact = exact;
+            this.line = line;
+        }
+    }
+}
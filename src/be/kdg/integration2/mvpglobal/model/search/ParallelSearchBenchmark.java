@@ -0,0 +1,66 @@
+package be.kdg.integration2.mvpglobal.model.search;
+
+import be.kdg.integration2.mvpglobal.model.Board;
+import be.kdg.integration2.mvpglobal.model.PackedMove;
+
+/**
+ * Measures the speedup of {@link ParallelSearch} over the single-threaded {@link SearchEngine}.
+ * <p>
+ * A fixed set of positions is produced by letting a depth-1 search play against
+ * itself from the starting position. Each position is then searched to the same
+ * fixed depth by both engines, and the wall-clock times are compared.
+ * </p>
+ *
+ * <p>Usage: {@code java be.kdg.integration2.mvpglobal.model.search.ParallelSearchBenchmark [depth] [threads]}</p>
+ */
+public final class ParallelSearchBenchmark {
+    private static final int POSITIONS = 8;
+    private static final int PLIES_BETWEEN_POSITIONS = 6;
+
+    private ParallelSearchBenchmark() {
+    }
+
+    /**
+     * Builds the benchmark positions deterministically.
+     *
+     * @param count the number of positions
+     * @return positions spread over the opening and early middle game
+     */
+    static Board[] positions(int count) {
+        Board[] positions = new Board[count];
+        Board board = new Board();
+        SearchEngine player = new SearchEngine(new ProgressEvaluator());
+        for (int i = 0; i < count; i++) {
+            positions[i] = new Board(board);
+            for (int ply = 0; ply < PLIES_BETWEEN_POSITIONS; ply++) {
+                int move = player.search(board, 1).getBestMove();
+                if (move == PackedMove.NONE) break;
+                board.movePiece(PackedMove.from(move), PackedMove.to(move));
+            }
+        }
+        return positions;
+    }
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        SearchEngine single = new SearchEngine(new ProgressEvaluator());
+        ParallelSearch parallel = new ParallelSearch(threads, ProgressEvaluator::new);
+        long singleTotal = 0;
+        long parallelTotal = 0;
+        Board[] positions = positions(POSITIONS);
+        for (int i = 0; i < positions.length; i++) {
+            SearchResult s = single.search(new Board(positions[i]), depth);
+            SearchResult p = parallel.search(positions[i], depth, 0);
+            singleTotal += s.getNanos();
+            parallelTotal += p.getNanos();
+            System.out.printf("position %d: 1 thread %6d ms %10d nodes | %d threads %6d ms %10d nodes | speedup %.2f%n",
+                    i, s.getNanos() / 1_000_000, s.getNodes(), threads, p.getNanos() / 1_000_000,
+                    p.getNodes(), (double) s.getNanos() / Math.max(p.getNanos(), 1));
+        }
+        System.out.printf("depth %d, %d threads: total speedup %.2f%n",
+                depth, threads, (double) singleTotal / Math.max(parallelTotal, 1));
+        parallel.shutdown();
+    }
+}
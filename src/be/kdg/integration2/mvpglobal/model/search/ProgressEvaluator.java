@@ -0,0 +1,40 @@
+package be.kdg.integration2.mvpglobal.model.search;
+
+import be.kdg.integration2.mvpglobal.model.BitBoard;
+import be.kdg.integration2.mvpglobal.model.Board;
+import be.kdg.integration2.mvpglobal.model.PieceColor;
+
+/**
+ * Simple evaluation based on how far each side has advanced.
+ * <p>
+ * Each piece scores its progress along the diagonal towards the opposite corner
+ * (row + column for BLACK, mirrored for WHITE), and every piece already in the
+ * target camp earns a bonus. The evaluation is the difference between both sides.
+ * </p>
+ */
+public class ProgressEvaluator implements Evaluator {
+    private static final int CAMP_BONUS = 4;
+    private static final int MAX_PROGRESS = 2 * (Board.SIZE - 1);
+
+    private final long[] scratch = new long[BitBoard.WORDS];
+
+    @Override
+    public int evaluate(Board board, PieceColor perspective) {
+        return score(board, perspective) - score(board, Board.opponent(perspective));
+    }
+
+    private int score(Board board, PieceColor color) {
+        board.pieces(color, scratch);
+        int progress = 0;
+        for (int word = 0; word < BitBoard.WORDS; word++) {
+            long pending = scratch[word];
+            while (pending != 0) {
+                int square = (word << 6) | Long.numberOfTrailingZeros(pending);
+                pending &= pending - 1;
+                int diagonal = BitBoard.row(square) + BitBoard.col(square);
+                progress += color == PieceColor.BLACK ? diagonal : MAX_PROGRESS - diagonal;
+            }
+        }
+        return progress + CAMP_BONUS * board.countInTargetCamp(color);
+    }
+}
@@ -0,0 +1,389 @@
+package be.kdg.integration2.mvpglobal.model.search;
+
+import be.kdg.integration2.mvpglobal.model.Board;
+import be.kdg.integration2.mvpglobal.model.MoveList;
+import be.kdg.integration2.mvpglobal.model.PackedMove;
+import be.kdg.integration2.mvpglobal.model.PieceColor;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Negamax search with alpha-beta pruning and iterative deepening.
+ * <p>
+ * The engine searches on the board it is given, playing and taking back moves
+ * with {@link Board#makeMove(int, int)} and {@link Board#unmakeMove()}, and uses
+ * one preallocated {@link MoveList} per ply, so a search produces no garbage.
+ * Leaves are scored by a pluggable {@link Evaluator}. A position in which the
+ * side that just moved has filled its target camp is scored as a win, preferring
+ * faster wins.
+ * </p>
+ *
+ * <p>{@link #search(Board, int, long)} deepens one ply at a time until a
+ * wall-clock budget runs out. Each iteration searches the principal variation of
+ * the previous one first, inside an aspiration window around its score, and the
+ * result always comes from the last iteration that completed. A search can also
+ * be stopped from outside through a stop condition, which is polled together with
+ * the clock.</p>
+ *
+ * <p>Moves are tried in the order given by a {@link MoveOrderer}: principal
+ * variation, hash move, forward moves by distance gained, killers, history. The
+ * moves are picked one at a time instead of being sorted up front, since most
+ * nodes are cut off after a few moves. The share of cutoffs caused by the first
+ * move tried is reported with the result as a measure of ordering quality.</p>
+ *
+ * <p>With a {@link TranspositionTable}, every interior node is looked up before it
+ * is searched. A deep enough stored result ends the search of the node at once,
+ * and otherwise the stored best move is tried first. The table may be shared by
+ * several engines.</p>
+ *
+ * <p>An engine keeps per-search state and must not be used by two threads at once.</p>
+ */
+public class SearchEngine {
+    /** Score of a won position; mate-like scores are {@code WIN_SCORE - ply}. */
+    public static final int WIN_SCORE = 1_000_000;
+    /** Deepest search the engine supports. */
+    public static final int MAX_PLY = 64;
+
+    /** Alpha-beta bound that stands for "no bound"; above any reachable score. */
+    static final int INFINITY = WIN_SCORE + 1;
+    private static final int ASPIRATION_WINDOW = 16;
+    // the clock and the stop condition are read once per this many nodes (must be a power of two)
+    private static final int TIME_CHECK_INTERVAL = 1024;
+    static final BooleanSupplier NEVER_STOP = () -> false;
+
+    private final Evaluator evaluator;
+    private final TranspositionTable table;
+    private final MoveOrderer orderer = new MoveOrderer();
+    private final MoveList[] moveLists = new MoveList[MAX_PLY + 1];
+    // triangular principal-variation table: pv[ply] holds the best line from ply onwards
+    private final int[][] pv = new int[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[] pvLength = new int[MAX_PLY + 1];
+    private final int[] previousPv = new int[MAX_PLY + 1];
+    private int previousPvLength;
+
+    private long nodes;
+    private long cutoffs;
+    private long firstMoveCutoffs;
+    private long deadline;
+    private boolean timed;
+    private boolean aborted;
+    private BooleanSupplier stopCondition = NEVER_STOP;
+    private boolean followPv;
+
+    /**
+     * Creates an engine using the given evaluation.
+     *
+     * @param evaluator the leaf evaluation
+     */
+    public SearchEngine(Evaluator evaluator) {
+        this(evaluator, null);
+    }
+
+    /**
+     * Creates an engine using the given evaluation and transposition table.
+     *
+     * @param evaluator the leaf evaluation
+     * @param table     the table of earlier search results, or {@code null} for none
+     */
+    public SearchEngine(Evaluator evaluator, TranspositionTable table) {
+        this.evaluator = evaluator;
+        this.table = table;
+        for (int i = 0; i < moveLists.length; i++) {
+            moveLists[i] = new MoveList();
+        }
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return table;
+    }
+
+    /**
+     * Searches the position to a fixed depth for the side to move, without a time limit.
+     *
+     * @param board the position to search; it is restored before returning
+     * @param depth the number of plies to look ahead (at least 1)
+     * @return the best move found with its score and statistics
+     */
+    public SearchResult search(Board board, int depth) {
+        return search(board, depth, 0);
+    }
+
+    /**
+     * Searches the position with iterative deepening for the side to move.
+     * <p>
+     * Iterations run at depth 1, 2, 3, ... up to {@code maxDepth} until
+     * {@code timeBudgetNanos} has elapsed. An iteration cut short by the clock is
+     * discarded, so the returned move is the best move of the deepest completed
+     * iteration. Depth 1 always completes, so a legal move is returned whenever
+     * one exists.
+     * </p>
+     *
+     * @param board           the position to search; it is restored before returning
+     * @param maxDepth        the deepest iteration to run
+     * @param timeBudgetNanos the wall-clock budget, or 0 for no limit
+     * @return the best move found with its score and statistics
+     */
+    public SearchResult search(Board board, int maxDepth, long timeBudgetNanos) {
+        return search(board, maxDepth, timeBudgetNanos, NEVER_STOP);
+    }
+
+    /**
+     * Searches the position with iterative deepening until the budget runs out or
+     * {@code stopCondition} becomes true, whichever comes first.
+     * <p>
+     * Unlike the clock, the stop condition may also end the first iteration, so a
+     * stopped search may return {@link PackedMove#NONE}. It is meant for searches
+     * whose result is no longer needed, e.g. {@code Thread.currentThread()::isInterrupted}.
+     * </p>
+     *
+     * @param board           the position to search; it is restored before returning
+     * @param maxDepth        the deepest iteration to run
+     * @param timeBudgetNanos the wall-clock budget, or 0 for no limit
+     * @param stopCondition   polled during the search; the search ends once it returns {@code true}
+     * @return the best move of the deepest completed iteration with its score and statistics
+     */
+    public SearchResult search(Board board, int maxDepth, long timeBudgetNanos, BooleanSupplier stopCondition) {
+        maxDepth = Math.max(1, Math.min(maxDepth, MAX_PLY));
+        long start = System.nanoTime();
+        nodes = 0;
+        cutoffs = 0;
+        firstMoveCutoffs = 0;
+        aborted = false;
+        timed = false;
+        deadline = start + timeBudgetNanos;
+        this.stopCondition = stopCondition;
+        previousPvLength = 0;
+        orderer.clear();
+
+        int bestMove = PackedMove.NONE;
+        int bestScore = 0;
+        int completedDepth = 0;
+        int[] bestLine = new int[0];
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int score = completedDepth == 0
+                    ? searchRoot(board, depth, -INFINITY, INFINITY)
+                    : aspirationSearch(board, depth, bestScore);
+            if (aborted) break;
+
+            completedDepth = depth;
+            bestScore = score;
+            bestMove = pvLength[0] > 0 ? pv[0][0] : PackedMove.NONE;
+            bestLine = Arrays.copyOf(pv[0], pvLength[0]);
+            System.arraycopy(pv[0], 0, previousPv, 0, pvLength[0]);
+            previousPvLength = pvLength[0];
+
+            // from depth 2 on, the clock may interrupt an iteration
+            timed = timeBudgetNanos > 0;
+            if (timed && System.nanoTime() >= deadline) break;
+            if (Math.abs(score) >= WIN_SCORE - MAX_PLY) break; // forced result found
+        }
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes,
+                System.nanoTime() - start, bestLine, cutoffs, firstMoveCutoffs);
+    }
+
+    /**
+     * Searches the root inside a narrow window around the previous score and
+     * widens the window on the failing side until the score falls inside it.
+     */
+    private int aspirationSearch(Board board, int depth, int guess) {
+        int delta = ASPIRATION_WINDOW;
+        int alpha = Math.max(guess - delta, -INFINITY);
+        int beta = Math.min(guess + delta, INFINITY);
+        while (true) {
+            int score = searchRoot(board, depth, alpha, beta);
+            if (aborted) return score;
+            if (score <= alpha && alpha > -INFINITY) {
+                delta *= 2;
+                alpha = delta > WIN_SCORE / 2 ? -INFINITY : Math.max(guess - delta, -INFINITY);
+            } else if (score >= beta && beta < INFINITY) {
+                delta *= 2;
+                beta = delta > WIN_SCORE / 2 ? INFINITY : Math.min(guess + delta, INFINITY);
+            } else {
+                return score;
+            }
+        }
+    }
+
+    /**
+     * Searches a single position to a fixed depth inside the window
+     * ({@code alpha}, {@code beta}), without iterative deepening. Used by
+     * {@link ParallelSearch} to search root moves on separate threads.
+     *
+     * @param board         the position to search; it is restored before returning
+     * @param depth         the number of plies to look ahead
+     * @param alpha         the lower bound of the window
+     * @param beta          the upper bound of the window
+     * @param deadlineNanos the {@link System#nanoTime()} at which to give up, or 0 for none
+     * @param stopCondition polled during the search; the search gives up once it returns {@code true}
+     * @return the score for the side to move; meaningless if {@link #isAborted()} is set
+     */
+    int searchWindow(Board board, int depth, int alpha, int beta, long deadlineNanos, BooleanSupplier stopCondition) {
+        nodes = 0;
+        cutoffs = 0;
+        firstMoveCutoffs = 0;
+        aborted = false;
+        timed = deadlineNanos != 0;
+        deadline = deadlineNanos;
+        this.stopCondition = stopCondition;
+        followPv = false;
+        return negamax(board, depth, alpha, beta, 0);
+    }
+
+    /**
+     * Returns whether the last call to {@link #searchWindow} ran out of time or was stopped.
+     *
+     * @return {@code true} if the search was cut short
+     */
+    boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * Returns the number of nodes visited by the last search.
+     *
+     * @return the node count
+     */
+    long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the number of beta cutoffs in the last search.
+     *
+     * @return the cutoff count
+     */
+    long getCutoffs() {
+        return cutoffs;
+    }
+
+    /**
+     * Returns the number of beta cutoffs in the last search that were caused by
+     * the first move tried at their node.
+     *
+     * @return the first-move cutoff count
+     */
+    long getFirstMoveCutoffs() {
+        return firstMoveCutoffs;
+    }
+
+    /**
+     * Returns the principal variation of the last call to {@link #searchWindow}.
+     *
+     * @return the best line found, as packed moves
+     */
+    int[] getPrincipalVariation() {
+        return Arrays.copyOf(pv[0], pvLength[0]);
+    }
+
+    private int searchRoot(Board board, int depth, int alpha, int beta) {
+        followPv = previousPvLength > 0;
+        return negamax(board, depth, alpha, beta, 0);
+    }
+
+    private int negamax(Board board, int depth, int alpha, int beta, int ply) {
+        pvLength[ply] = 0;
+        nodes++;
+        if ((nodes & (TIME_CHECK_INTERVAL - 1)) == 0
+                && (timed && System.nanoTime() >= deadline || stopCondition.getAsBoolean())) {
+            aborted = true;
+        }
+        if (aborted) return 0;
+
+        PieceColor side = board.getSideToMove();
+        if (board.hasPlayerWon(Board.opponent(side))) return -WIN_SCORE + ply;
+        if (depth == 0 || ply == MAX_PLY) return evaluator.evaluate(board, side);
+
+        int hashMove = PackedMove.NONE;
+        if (table != null) {
+            long entry = table.probe(board.hash());
+            if (entry != 0) {
+                hashMove = TranspositionTable.move(entry);
+                // the root always searches, so that it has a move to return
+                if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                    int score = scoreFromTable(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                            || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                        return score;
+                    }
+                }
+            }
+        }
+
+        MoveList moves = moveLists[ply];
+        board.generateMoves(side, moves);
+        if (moves.isEmpty()) return evaluator.evaluate(board, side);
+        orderer.score(moves, side, ply, principalVariationMove(moves, ply), hashMove);
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = PackedMove.NONE;
+        for (int i = 0; i < moves.size(); i++) {
+            moves.selectBest(i);
+            board.makeMove(moves.from(i), moves.to(i));
+            int score = -negamax(board, depth - 1, -beta, -alpha, ply + 1);
+            board.unmakeMove();
+            if (aborted) return 0;
+            if (score > best) {
+                best = score;
+                bestMove = moves.get(i);
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, moves.get(i));
+                }
+            }
+            if (alpha >= beta) {
+                cutoffs++;
+                if (i == 0) firstMoveCutoffs++;
+                orderer.recordCutoff(side, moves.get(i), depth, ply);
+                break;
+            }
+        }
+
+        if (table != null) {
+            int bound = best >= beta ? TranspositionTable.LOWER_BOUND
+                    : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+            table.store(board.hash(), depth, bound, scoreToTable(best, ply), bestMove);
+        }
+        return best;
+    }
+
+    /**
+     * Converts a win score from "plies from the root" to "plies from this
+     * position", so that it stays correct when the position is reached at another ply.
+     */
+    private static int scoreToTable(int score, int ply) {
+        if (score >= WIN_SCORE - MAX_PLY) return score + ply;
+        if (score <= -WIN_SCORE + MAX_PLY) return score - ply;
+        return score;
+    }
+
+    private static int scoreFromTable(int score, int ply) {
+        if (score >= WIN_SCORE - MAX_PLY) return score - ply;
+        if (score <= -WIN_SCORE + MAX_PLY) return score + ply;
+        return score;
+    }
+
+    /**
+     * While the search is still walking down the previous principal variation,
+     * returns the PV move of this ply.
+     *
+     * @return the move to try first, or {@link PackedMove#NONE} once the search has left the PV
+     */
+    private int principalVariationMove(MoveList moves, int ply) {
+        if (!followPv) return PackedMove.NONE;
+        if (ply >= previousPvLength || moves.indexOf(previousPv[ply]) < 0) {
+            followPv = false;
+            return PackedMove.NONE;
+        }
+        return previousPv[ply];
+    }
+
+    private void updatePv(int ply, int move) {
+        pv[ply][0] = move;
+        System.arraycopy(pv[ply + 1], 0, pv[ply], 1, pvLength[ply + 1]);
+        pvLength[ply] = pvLength[ply + 1] + 1;
+    }
+}
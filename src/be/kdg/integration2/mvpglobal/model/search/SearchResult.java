@@ -0,0 +1,132 @@
+package be.kdg.integration2.mvpglobal.model.search;
+
+import be.kdg.integration2.mvpglobal.model.PackedMove;
+
+/**
+ * Outcome of a search: the chosen move, its score and how much work it took.
+ */
+public class SearchResult {
+    private final int bestMove;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long nanos;
+    private final int[] principalVariation;
+    private final long cutoffs;
+    private final long firstMoveCutoffs;
+
+    /**
+     * Creates a search result.
+     *
+     * @param bestMove the best move as a {@link PackedMove}, or {@link PackedMove#NONE}
+     * @param score    the score of the best move for the side to move
+     * @param depth    the depth that was fully searched
+     * @param nodes    the number of nodes visited
+     * @param nanos    the wall-clock time spent, in nanoseconds
+     */
+    public SearchResult(int bestMove, int score, int depth, long nodes, long nanos) {
+        this(bestMove, score, depth, nodes, nanos, new int[0]);
+    }
+
+    /**
+     * Creates a search result with the expected line of play.
+     *
+     * @param bestMove           the best move as a {@link PackedMove}, or {@link PackedMove#NONE}
+     * @param score              the score of the best move for the side to move
+     * @param depth              the depth that was fully searched
+     * @param nodes              the number of nodes visited
+     * @param nanos              the wall-clock time spent, in nanoseconds
+     * @param principalVariation the best line found, starting with {@code bestMove}
+     */
+    public SearchResult(int bestMove, int score, int depth, long nodes, long nanos, int[] principalVariation) {
+        this(bestMove, score, depth, nodes, nanos, principalVariation, 0, 0);
+    }
+
+    /**
+     * Creates a search result with the expected line of play and move ordering statistics.
+     *
+     * @param bestMove           the best move as a {@link PackedMove}, or {@link PackedMove#NONE}
+     * @param score              the score of the best move for the side to move
+     * @param depth              the depth that was fully searched
+     * @param nodes              the number of nodes visited
+     * @param nanos              the wall-clock time spent, in nanoseconds
+     * @param principalVariation the best line found, starting with {@code bestMove}
+     * @param cutoffs            the number of beta cutoffs
+     * @param firstMoveCutoffs   the number of beta cutoffs caused by the first move tried
+     */
+    public SearchResult(int bestMove, int score, int depth, long nodes, long nanos, int[] principalVariation,
+                        long cutoffs, long firstMoveCutoffs) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.nanos = nanos;
+        this.principalVariation = principalVariation;
+        this.cutoffs = cutoffs;
+        this.firstMoveCutoffs = firstMoveCutoffs;
+    }
+
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Returns the expected line of play as packed moves, starting with the best move.
+     *
+     * @return a copy of the principal variation (possibly empty)
+     */
+    public int[] getPrincipalVariation() {
+        return principalVariation.clone();
+    }
+
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    public long getFirstMoveCutoffs() {
+        return firstMoveCutoffs;
+    }
+
+    /**
+     * Returns how often the first move tried at a node was good enough for a
+     * cutoff. The closer to 1, the better the move ordering.
+     *
+     * @return the share of cutoffs caused by the first move, or 0 without cutoffs
+     */
+    public double getFirstMoveCutoffRate() {
+        return cutoffs == 0 ? 0.0 : (double) firstMoveCutoffs / cutoffs;
+    }
+
+    /**
+     * Returns the search speed.
+     *
+     * @return nodes searched per second
+     */
+    public long getNodesPerSecond() {
+        return nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "move " + PackedMove.toString(bestMove) + ", score " + score + ", depth " + depth
+                + ", " + nodes + " nodes, " + getNodesPerSecond() + " nodes/s, "
+                + (nanos / 1_000_000) + " ms"
+                + (cutoffs == 0 ? "" : String.format(", first-move cutoffs %.1f%%", 100.0 * getFirstMoveCutoffRate()));
+    }
+}
@@ -0,0 +1,207 @@
+package be.kdg.integration2.mvpglobal.model.search;
+
+import be.kdg.integration2.mvpglobal.model.PackedMove;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size cache of search results, keyed by the 64-bit Zobrist hash of a position.
+ * <p>
+ * Every entry packs its depth, bound type, score and best move into one
+ * {@code long}. Entries are grouped in buckets of two slots: the first keeps the
+ * deepest result seen for its bucket, the second always takes the newest one. The
+ * number of buckets is a power of two, so a bucket is found by masking the hash.
+ * </p>
+ *
+ * <p>The table can be shared by several search threads without locks. Each slot
+ * stores the key XOR-ed with the data, and every word is read and written
+ * atomically. A slot torn by two concurrent writers then simply fails to match
+ * its key and is treated as empty.</p>
+ *
+ * <p>Subclasses decide where the slots are kept: {@link HeapTranspositionTable}
+ * uses Java arrays, {@link OffHeapTranspositionTable} uses memory outside the heap.</p>
+ */
+public abstract class TranspositionTable {
+    /** The score is exact. */
+    public static final int EXACT = 1;
+    /** The score is a lower bound: the search failed high. */
+    public static final int LOWER_BOUND = 2;
+    /** The score is an upper bound: the search failed low. */
+    public static final int UPPER_BOUND = 3;
+
+    /** Bytes used by one slot: the key word and the data word. */
+    public static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+    private static final int SLOTS_PER_BUCKET = 2;
+
+    // data layout: move in bits 0-23, depth in bits 24-31, bound in bits 32-33, score in bits 43-63
+    private static final long MOVE_MASK = 0xFFFFFFL;
+    private static final int DEPTH_SHIFT = 24;
+    private static final int BOUND_SHIFT = 32;
+    private static final int SCORE_SHIFT = 43;
+
+    private final long entries;
+    private final long bucketMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+
+    /**
+     * Creates a table with the given number of slots.
+     *
+     * @param entries the number of slots, a power of two and at least 2
+     */
+    protected TranspositionTable(long entries) {
+        this.entries = entries;
+        this.bucketMask = entries / SLOTS_PER_BUCKET - 1;
+    }
+
+    /**
+     * Returns the largest power-of-two number of slots that fits in the given memory.
+     *
+     * @param megabytes the memory budget, in megabytes (at least 1)
+     * @return the number of slots
+     */
+    protected static long entriesFor(long megabytes) {
+        return Long.highestOneBit((Math.max(1, megabytes) << 20) / BYTES_PER_ENTRY);
+    }
+
+    /** Atomically reads the key word of a slot. */
+    protected abstract long readKey(long slot);
+
+    /** Atomically reads the data word of a slot; 0 means the slot is empty. */
+    protected abstract long readData(long slot);
+
+    /** Atomically writes both words of a slot, each on its own. */
+    protected abstract void write(long slot, long key, long data);
+
+    /** Sets every slot to 0. */
+    protected abstract void clearSlots();
+
+    /**
+     * Looks up a position.
+     *
+     * @param hash the Zobrist hash of the position
+     * @return the packed entry, or 0 if the position is not in the table
+     */
+    public long probe(long hash) {
+        long slot = (hash & bucketMask) * SLOTS_PER_BUCKET;
+        boolean occupied = false;
+        for (long i = slot; i < slot + SLOTS_PER_BUCKET; i++) {
+            long entry = readData(i);
+            long key = readKey(i);
+            if (entry != 0 && (key ^ entry) == hash) {
+                hits.increment();
+                return entry;
+            }
+            occupied |= entry != 0;
+        }
+        if (occupied) collisions.increment();
+        else misses.increment();
+        return 0;
+    }
+
+    /**
+     * Stores a search result. The depth-preferred slot is replaced if the new
+     * result is at least as deep or belongs to the same position; otherwise the
+     * result goes to the always-replace slot.
+     *
+     * @param hash  the Zobrist hash of the position
+     * @param depth the remaining depth the position was searched to
+     * @param bound {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     * @param score the score, adjusted so that win scores are relative to this position
+     * @param move  the best move as a {@link PackedMove}, or {@link PackedMove#NONE}
+     */
+    public void store(long hash, int depth, int bound, int score, int move) {
+        long slot = (hash & bucketMask) * SLOTS_PER_BUCKET;
+        long preferred = readData(slot);
+        boolean samePosition = (readKey(slot) ^ preferred) == hash;
+        if (preferred != 0 && !samePosition && depth < depth(preferred)) slot++;
+
+        long entry = pack(depth, bound, score, move);
+        write(slot, hash ^ entry, entry);
+    }
+
+    /**
+     * Packs the fields of an entry. The result is never 0, since the bound is never 0.
+     */
+    static long pack(int depth, int bound, int score, int move) {
+        return (move & MOVE_MASK)
+                | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) score << SCORE_SHIFT);
+    }
+
+    public static int move(long entry) {
+        return (int) (entry & MOVE_MASK);
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    public static int score(long entry) {
+        return (int) (entry >> SCORE_SHIFT);
+    }
+
+    /**
+     * Empties the table and resets the counters. Must not run during a search.
+     */
+    public void clear() {
+        clearSlots();
+        hits.reset();
+        misses.reset();
+        collisions.reset();
+    }
+
+    public long getEntries() {
+        return entries;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that found an empty bucket.
+     *
+     * @return the miss count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of lookups that found their bucket taken by other positions.
+     *
+     * @return the collision count
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    /**
+     * Estimates how full the table is by sampling its first thousand slots.
+     *
+     * @return the used fraction, in permille
+     */
+    public int getFillPermille() {
+        int sample = (int) Math.min(1000, entries);
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            if (readData(i) != 0) used++;
+        }
+        return used * 1000 / sample;
+    }
+
+    @Override
+    public String toString() {
+        long probes = getHits() + getMisses() + getCollisions();
+        return String.format("%d MB, %d hits, %d misses, %d collisions, hit rate %.1f%%, %d%% full",
+                getEntries() * BYTES_PER_ENTRY >> 20, getHits(), getMisses(), getCollisions(),
+                probes == 0 ? 0.0 : 100.0 * getHits() / probes, getFillPermille() / 10);
+    }
+}
@@ -1,25 +1,37 @@
 package be.kdg.integration2.mvpglobal.view.gamescreen;
 
 import be.kdg.integration2.mvpglobal.model.*;
-import be.kdg.integration2.mvpglobal.model.rulebasedsystem.rules.RulesHandler;
 import be.kdg.integration2.mvpglobal.view.leaderboardscreen.LeaderboardPresenter;
 import be.kdg.integration2.mvpglobal.view.leaderboardscreen.LeaderboardView;
 import be.kdg.integration2.mvpglobal.view.startscreen.StartScreenPresenter;
 import be.kdg.integration2.mvpglobal.view.startscreen.StartScreenView;
 import be.kdg.integration2.mvpglobal.view.statsscreen.StatsPresenter;
 import be.kdg.integration2.mvpglobal.view.statsscreen.StatsView;
+import javafx.application.Platform;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.layout.GridPane;
 import javafx.scene.shape.Circle;
 import javafx.stage.Stage;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 /**
  * The {@code GamePresenter} class acts as the controller in the MVP architecture for the game screen.
  * It handles user interactions on the {@link GameView}, manages the {@link Board} model, coordinates moves
  * (including AI logic), and interacts with the database for tracking users and game statistics.
+ * <p>
+ * The computer player thinks on a background thread, on its own copy of the board, so
+ * the screen stays responsive; its move is applied on the JavaFX thread once it is
+ * ready. Leaving the game cancels the computer's thinking, including any pondering.
+ * </p>
  */
 public class GamePresenter {
+    private static final long AI_STOP_TIMEOUT_MILLIS = 1_000;
+
     private final GameView view;
     private final Board board;
     private final Stage stage;
@@ -28,6 +40,12 @@ public class GamePresenter {
     private Position selected;
     private final boolean vsAI;
     private long moveStartTime;
+    private final ExecutorService aiExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "AI player");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<?> aiTask;
 
     private final DatabaseConnections db = new DatabaseConnections();
     private int userId = 0, gameId = 0;
@@ -44,24 +62,31 @@ public class GamePresenter {
      * @param vsAI     true if the opponent is an AI, false if it's a second human player
      */
     public GamePresenter(GameView view, Stage stage, String username, boolean vsAI) {
+        this(view, stage, username, vsAI ? OpponentType.RULE_BASED_AI : OpponentType.HUMAN);
+    }
+
+    /**
+     * Constructs the game presenter against the chosen kind of opponent.
+     *
+     * @param view     the visual game interface
+     * @param stage    the JavaFX stage to render scenes
+     * @param username the current human player's username
+     * @param opponent the kind of player controlling the white pieces
+     */
+    public GamePresenter(GameView view, Stage stage, String username, OpponentType opponent) {
         this.view = view;
         this.stage = stage;
         this.board = new Board();
-        this.vsAI = vsAI;
+        this.vsAI = opponent != OpponentType.HUMAN;
 
         this.black = new HumanPlayer(username, PieceColor.BLACK);
-        this.white = vsAI
-                ? new AI("Computer", PieceColor.WHITE)
-                : new HumanPlayer("Player 2", PieceColor.WHITE);
+        this.white = opponent.createPlayer(PieceColor.WHITE);
 
         this.currentPlayer = black;
         this.selected = null;
 
         attachHandlers();
         refreshBoard();
-        if (vsAI) {
-            ((AI)white).setRulesHandler(new RulesHandler());
-        }
         db.createTables();
         db.insertUser(username, username + "@placeholder.com");
         userId = db.getUsername(username);
@@ -82,9 +107,13 @@ public class GamePresenter {
                 handleCellClick(rr == null ? 0 : rr, cc == null ? 0 : cc);
             });
         }
-        view.winButton.setOnAction(e -> showEndStats(currentPlayer.getColor()));
+        view.winButton.setOnAction(e -> {
+            if (aiTask != null) return; // only the human can force a win, not the thinking computer
+            showEndStats(currentPlayer.getColor());
+        });
 
         view.getBackButton().setOnAction(e -> {
+            stopAI();
             StartScreenView startScreenView = new StartScreenView();
             StartScreenPresenter presenter = new StartScreenPresenter(startScreenView, stage);
 
@@ -94,6 +123,7 @@ public class GamePresenter {
         });
 
         view.getLeaderboardButton().setOnAction(e -> {
+            stopAI();
             LeaderboardView leaderboardView = new LeaderboardView();
             LeaderboardPresenter presenter = new LeaderboardPresenter(leaderboardView, stage);
             Scene leaderboardScene = new Scene(leaderboardView, 800, 640);
@@ -110,7 +140,8 @@ public class GamePresenter {
      * @param col the column of the clicked cell
      */
     private void handleCellClick(int row, int col) {
-        Position pos = new Position(row, col);
+        if (aiTask != null) return; // the computer is thinking
+        Position pos = Position.of(row, col);
 
         if (selected == null) {
             var piece = board.getPieceAt(pos);
@@ -147,47 +178,99 @@ public class GamePresenter {
         switchPlayer();
         refreshBoard();
 
-        if (vsAI && currentPlayer instanceof AI) {
-            Move aiMove = currentPlayer.getMove(board);
-            if (aiMove != null) {
-                board.movePiece(aiMove.getStart(), aiMove.getEnd());
-                refreshBoard();
-
-                if (board.hasPlayerWon(currentPlayer.getColor())) {
-                    showEndStats(currentPlayer.getColor());
-                    return;
-                }
-
-                switchPlayer();
-                moveStartTime = System.nanoTime();
-            }
+        if (vsAI && !(currentPlayer instanceof HumanPlayer)) {
+            requestAIMove();
         } else {
             moveStartTime = System.nanoTime();
         }
-        if (selected == null) {
-            var piece = board.getPieceAt(pos);
-            if (piece != null && piece.getColor() == currentPlayer.getColor()) {
-                selected = pos;
-                view.toggleHighlight(row, col); // highlight selection
+    }
+
+    /**
+     * Lets the computer player choose its move on the background thread.
+     * The player works on a snapshot of the board; the chosen move is applied
+     * on the JavaFX thread by {@link #applyAIMove(Player, Move)}. If the player
+     * fails, the outcome is still handed to the JavaFX thread, which then plays
+     * a fallback move, so the board never stays locked. Force Win is disabled
+     * while the computer thinks.
+     */
+    private void requestAIMove() {
+        if (aiExecutor.isShutdown()) return; // the game has ended
+        Player ai = currentPlayer;
+        Board snapshot = new Board(board);
+        view.winButton.setDisable(true);
+        aiTask = aiExecutor.submit(() -> {
+            Move aiMove = null;
+            try {
+                aiMove = ai.getMove(snapshot);
+            } catch (RuntimeException e) {
+                System.err.println("The computer player failed to choose a move: " + e);
+                e.printStackTrace();
             }
-            return;
-        }
+            Move chosen = aiMove;
+            Platform.runLater(() -> applyAIMove(ai, chosen));
+        });
+    }
 
-        if (selected.getRow() == row && selected.getCol() == col) {
-            selected = null;
-            view.clearHighlight(); // unselect
-            return;
+    /**
+     * Plays the move chosen by the computer player, unless the game was left in the meantime,
+     * and lets the computer ponder while the human thinks.
+     *
+     * @param ai     the computer player that chose the move
+     * @param aiMove the chosen move, or {@code null} if it failed or was interrupted
+     */
+    private void applyAIMove(Player ai, Move aiMove) {
+        if (aiTask == null || currentPlayer != ai) return; // cancelled
+        aiTask = null;
+        view.winButton.setDisable(false);
+        if (aiMove == null) {
+            aiMove = fallbackMove(ai.getColor());
         }
+        if (aiMove != null) {
+            board.movePiece(aiMove.getStart(), aiMove.getEnd());
+            refreshBoard();
 
-        if (!board.isLegalMove(selected, pos)) {
-            selected = null;
-            view.clearHighlight(); // cancel selection
-            return;
+            if (board.hasPlayerWon(ai.getColor())) {
+                showEndStats(ai.getColor());
+                return;
+            }
         }
 
-        board.movePiece(selected, pos);
-        selected = null;
-        view.clearHighlight();
+        switchPlayer();
+        moveStartTime = System.nanoTime();
+        if (!aiExecutor.isShutdown()) ai.startPondering(new Board(board));
+    }
+
+    /**
+     * Returns a legal move for the given side, used when the computer player did
+     * not come up with one.
+     *
+     * @param color the side to move
+     * @return the first legal move, or {@code null} if the side cannot move
+     */
+    private Move fallbackMove(PieceColor color) {
+        MoveList moves = new MoveList();
+        board.generateMoves(color, moves);
+        return moves.size() == 0 ? null : moves.toMove(0);
+    }
+
+    /**
+     * Cancels the computer player's thinking, including pondering, and releases its
+     * thread, its search threads and its transposition table file.
+     */
+    private void stopAI() {
+        if (aiTask != null) {
+            aiTask.cancel(true);
+            aiTask = null;
+        }
+        aiExecutor.shutdownNow();
+        try {
+            // an interrupted search ends within milliseconds; wait so the players are not shut down under it
+            aiExecutor.awaitTermination(AI_STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        black.shutdown();
+        white.shutdown();
     }
 
     /**
@@ -209,9 +292,9 @@ public class GamePresenter {
     private void refreshBoard() {
         for (int row = 0; row < Board.SIZE; row++) {
             for (int col = 0; col < Board.SIZE; col++) {
-                Piece piece = board.getPieceAt(new Position(row, col));
-                if (piece != null) {
-                    view.drawPiece(row, col, piece.getColor() == PieceColor.BLACK ? "black" : "white");
+                PieceColor color = board.getColorAt(Position.of(row, col).index());
+                if (color != null) {
+                    view.drawPiece(row, col, color == PieceColor.BLACK ? "black" : "white");
                 } else {
                     view.getCellPane(row, col).getChildren().removeIf(n -> n instanceof Circle);
                 }
@@ -221,11 +304,18 @@ public class GamePresenter {
 
     /**
      * Displays the end-of-game statistics screen.
-     * Also updates the database if the human player has won.
+     * Also updates the database if the human player has won, and prints the rule
+     * statistics of a rule-based computer player to the console.
      *
      * @param winner the color of the winning player
      */
     private void showEndStats(PieceColor winner) {
+        stopAI();
+        for (Player player : new Player[]{black, white}) {
+            if (player instanceof AI) {
+                ((AI) player).printRuleStatistics();
+            }
+        }
         if (winner == PieceColor.WHITE) {
             StatsView statsView = new StatsView();
             StatsPresenter presenter = new StatsPresenter(statsView, stage, userId, false);
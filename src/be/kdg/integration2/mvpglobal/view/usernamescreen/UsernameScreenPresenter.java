@@ -1,5 +1,6 @@
 package be.kdg.integration2.mvpglobal.view.usernamescreen;
 
+import be.kdg.integration2.mvpglobal.model.OpponentType;
 import be.kdg.integration2.mvpglobal.view.gamescreen.GamePresenter;
 import be.kdg.integration2.mvpglobal.view.gamescreen.GameView;
 import be.kdg.integration2.mvpglobal.view.startscreen.StartScreenPresenter;
@@ -27,6 +28,24 @@ public class UsernameScreenPresenter {
             }
         });
 
+        view.vsSearchAIButton.setOnAction(e -> {
+            String username = view.usernameField.getText().trim();
+            if (!username.isEmpty()) {
+                startGame(username, OpponentType.SEARCH_AI);
+            } else {
+                view.promptLabel.setText("Username cannot be empty!");
+            }
+        });
+
+        view.vsMctsAIButton.setOnAction(e -> {
+            String username = view.usernameField.getText().trim();
+            if (!username.isEmpty()) {
+                startGame(username, OpponentType.MCTS_AI);
+            } else {
+                view.promptLabel.setText("Username cannot be empty!");
+            }
+        });
+
         view.vsHumanButton.setOnAction(e -> {
             String username = view.usernameField.getText().trim();
             if (!username.isEmpty()) {
@@ -66,6 +85,14 @@ public class UsernameScreenPresenter {
         });
     }
 
+    private void startGame(String username, OpponentType opponent) {
+        GameView gameView = new GameView();
+        GamePresenter presenter = new GamePresenter(gameView, stage, username, opponent);
+        Scene gameScene = new Scene(gameView, 800, 640);
+        stage.setScene(gameScene);
+        stage.show();
+    }
+
     public UsernameScreenView getView() {
         return view;
     }
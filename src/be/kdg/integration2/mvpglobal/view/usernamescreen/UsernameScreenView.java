@@ -11,6 +11,8 @@ public class UsernameScreenView extends VBox {
     public final Label promptLabel     = new Label("Enter your username:");
     public final TextField usernameField = new TextField();
     public final Button vsAIButton     = new Button("Play vs AI");
+    public final Button vsSearchAIButton = new Button("Play vs Search AI");
+    public final Button vsMctsAIButton = new Button("Play vs MCTS AI");
     public final Button vsHumanButton  = new Button("Play vs Human");
     public final Button backButton     = new Button("Back");
 
@@ -20,7 +22,7 @@ public class UsernameScreenView extends VBox {
         setAlignment(Pos.CENTER);
         setSpacing(10);
         usernameField.setMaxWidth(200);
-        getChildren().addAll(promptLabel, usernameField, vsAIButton, vsHumanButton, backButton);
+        getChildren().addAll(promptLabel, usernameField, vsAIButton, vsSearchAIButton, vsMctsAIButton, vsHumanButton, backButton);
         setupBackground();
     }
 
@@ -42,6 +44,14 @@ public class UsernameScreenView extends VBox {
         return vsAIButton;
     }
 
+    public Button getVsSearchAIButton() {
+        return vsSearchAIButton;
+    }
+
+    public Button getVsMctsAIButton() {
+        return vsMctsAIButton;
+    }
+
     public Button getVsHumanButton() {
         return vsHumanButton;
     }